@@ -6,14 +6,14 @@ import io.github.bloepiloepi.pvp.events.PlayerExhaustEvent;
 import me.hsgamer.flexegames.api.game.ArenaGame;
 import me.hsgamer.flexegames.api.game.JoinResponse;
 import me.hsgamer.flexegames.api.game.Template;
-import me.hsgamer.flexegames.builder.ItemBuilder;
+import me.hsgamer.flexegames.board.GameBoard;
 import me.hsgamer.flexegames.feature.LobbyFeature;
 import me.hsgamer.flexegames.manager.ReplacementManager;
+import me.hsgamer.flexegames.replacement.ReplacementType;
 import me.hsgamer.flexegames.state.EndingState;
 import me.hsgamer.flexegames.state.InGameState;
 import me.hsgamer.flexegames.state.WaitingState;
 import me.hsgamer.flexegames.util.*;
-import me.hsgamer.hscore.minestom.board.Board;
 import me.hsgamer.minigamecore.base.Arena;
 import me.hsgamer.minigamecore.implementation.feature.arena.ArenaTimerFeature;
 import me.hsgamer.minigamecore.implementation.feature.single.TimerFeature;
@@ -21,6 +21,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventFilter;
@@ -31,69 +32,92 @@ import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.event.player.PlayerSpawnEvent;
-import net.minestom.server.event.trait.EntityEvent;
-import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceContainer;
-import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.SharedInstance;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.timer.ExecutionType;
 import net.minestom.server.timer.Task;
-import net.minestom.server.timer.TaskSchedule;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 public class DuelGame implements ArenaGame {
+    private static final Map<String, ReplacementType> REPLACEMENT_TYPES = Map.of(
+            "players", ReplacementType.EVENT,
+            "time", ReplacementType.TIME,
+            "max-players", ReplacementType.STATIC,
+            "state", ReplacementType.EVENT,
+            "template", ReplacementType.STATIC,
+            "owner", ReplacementType.EVENT,
+            "name", ReplacementType.STATIC,
+            "winner", ReplacementType.EVENT,
+            "alive", ReplacementType.EVENT
+    );
     private final DuelTemplate template;
     private final Arena arena;
     private final TimerFeature timerFeature;
-    private final InstanceContainer instance;
+    private final Instance instance;
     private final AtomicBoolean isFinished = new AtomicBoolean(false);
+    private final AtomicBoolean recycled = new AtomicBoolean(false);
     private final Tag<Boolean> deadTag = Tag.Boolean("duel:dead").defaultValue(false);
     private final Tag<Boolean> playerBlockTag = Tag.Boolean("duel:playerBlock").defaultValue(false);
     private final AtomicReference<Player> winner = new AtomicReference<>();
-    private final Board board;
-    private final EventNode<EntityEvent> entityEventNode;
+    private final AtomicLong version = new AtomicLong();
+    private final BlockJournal blockJournal = new BlockJournal();
+    private final Map<String, Supplier<ComponentLike>> replacements;
+    private final GameBoard board;
+    private final EventNode<InstanceEvent> arenaEventNode;
     private Task task;
 
     public DuelGame(DuelTemplate template, Arena arena) {
         this.template = template;
         this.arena = arena;
         this.timerFeature = arena.getArenaFeature(ArenaTimerFeature.class);
-        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer(FullBrightDimension.INSTANCE);
-        instance.setTimeRate(0);
-        instance.setTime(6000);
-        instance.getWorldBorder().setCenter((float) template.joinPos.x(), (float) template.joinPos.z());
-        instance.getWorldBorder().setDiameter(template.borderDiameter);
-        this.board = new Board(
-                player -> ReplacementManager.builder()
-                        .replaceGlobal()
-                        .replace(getReplacements())
-                        .replacePlayer(player)
-                        .build(template.boardTitle),
+        this.instance = template.sharedWorld
+                ? new SharedInstance(UUID.randomUUID(), template.getSharedContainer())
+                : MinecraftServer.getInstanceManager().createInstanceContainer(FullBrightDimension.INSTANCE);
+        resetInstance();
+        this.replacements = Map.of(
+                "players", () -> Component.text(Integer.toString(getPlayerCount())),
+                "time", () -> Component.text(TimeUtil.format(timerFeature.getDuration(TimeUnit.MILLISECONDS))),
+                "max-players", () -> Component.text(Integer.toString(template.posList.size())),
+                "state", () -> ArenaUtil.getDisplayState(arena),
+                "template", () -> template.displayName,
+                "owner", () -> ArenaUtil.getDisplayOwner(arena),
+                "name", () -> Component.text(arena.getName()),
+                "winner", () -> Optional.ofNullable(winner.get()).map(Player::getName).orElse(Component.empty()),
+                "alive", () -> Component.text(Integer.toString(getAlivePlayers().size()))
+        );
+        this.board = new GameBoard(
+                player -> template.boardTitle,
                 player -> {
-                    ReplacementManager.Builder builder = ReplacementManager.builder()
-                            .replaceGlobal()
-                            .replace(getReplacements())
-                            .replacePlayer(player);
-                    List<Component> components = Collections.emptyList();
                     if (arena.getState() == WaitingState.class) {
-                        components = template.boardLinesWaiting;
+                        return template.boardLinesWaiting;
                     } else if (arena.getState() == InGameState.class) {
-                        components = template.boardLinesIngame;
+                        return template.boardLinesIngame;
                     } else if (arena.getState() == EndingState.class) {
-                        components = template.boardLinesEnding;
+                        return template.boardLinesEnding;
                     }
-                    return components.stream().map(builder::build).toList();
-                }
+                    return Collections.emptyList();
+                },
+                player -> ReplacementManager.builder()
+                        .replaceGlobal()
+                        .replace(replacements)
+                        .replacePlayer(player)::resolve,
+                this::getReplacementType
         );
-        entityEventNode = EventNode.event("entityEvent-" + arena.getName(), EventFilter.ENTITY, entityEvent -> entityEvent.getEntity().getInstance() == instance);
-        PvpUtil.applyPvp(entityEventNode, template.useLegacyPvp);
-        entityEventNode
+        arenaEventNode = EventNode.type("arenaEvent-" + arena.getName(), EventFilter.INSTANCE);
+        PvpUtil.applyPvp(arenaEventNode, template.useLegacyPvp);
+        arenaEventNode
                 .addListener(EntityPreDeathEvent.class, event -> {
                     if (event.getEntity() instanceof Player player) {
                         event.setCancelled(true);
@@ -113,6 +137,13 @@ public class DuelGame implements ArenaGame {
                 });
     }
 
+    private void resetInstance() {
+        instance.setTimeRate(0);
+        instance.setTime(6000);
+        instance.getWorldBorder().setCenter((float) template.joinPos.x(), (float) template.joinPos.z());
+        instance.getWorldBorder().setDiameter(template.borderDiameter);
+    }
+
     private void onKill(Player player) {
         player.heal();
         player.setFood(20);
@@ -121,6 +152,7 @@ public class DuelGame implements ArenaGame {
             player.setTag(deadTag, true);
             player.setGameMode(GameMode.SPECTATOR);
             player.setInvisible(true);
+            invalidate("alive");
         }
     }
 
@@ -131,7 +163,18 @@ public class DuelGame implements ArenaGame {
 
     @Override
     public ItemStack getDisplayItem() {
-        return ItemBuilder.buildItem(template.gameDisplayItem, getReplacements());
+        return template.gameDisplayItem.build(replacements);
+    }
+
+    @Override
+    public long getVersion() {
+        long secondsLeft = timerFeature.getDuration(TimeUnit.SECONDS);
+        return (version.get() << 32) | (secondsLeft & 0xFFFFFFFFL);
+    }
+
+    private void invalidate(String... keys) {
+        version.incrementAndGet();
+        board.invalidate(keys);
     }
 
     @Override
@@ -139,18 +182,20 @@ public class DuelGame implements ArenaGame {
         return instance.getPlayers();
     }
 
-    private Map<String, Supplier<ComponentLike>> getReplacements() {
-        return Map.of(
-                "players", () -> Component.text(Integer.toString(getPlayerCount())),
-                "time", () -> Component.text(TimeUtil.format(timerFeature.getDuration(TimeUnit.MILLISECONDS))),
-                "max-players", () -> Component.text(Integer.toString(template.posList.size())),
-                "state", () -> ArenaUtil.getDisplayState(arena),
-                "template", () -> template.displayName,
-                "owner", () -> ArenaUtil.getDisplayOwner(arena),
-                "name", () -> Component.text(arena.getName()),
-                "winner", () -> Optional.ofNullable(winner.get()).map(Player::getName).orElse(Component.empty()),
-                "alive", () -> Component.text(Integer.toString(getAlivePlayers().size()))
-        );
+    @Override
+    public int getLoadedChunkCount() {
+        return instance.getChunks().size();
+    }
+
+    @Override
+    public Map<String, Supplier<ComponentLike>> getReplacements() {
+        return replacements;
+    }
+
+    @Override
+    public ReplacementType getReplacementType(String key) {
+        ReplacementType type = REPLACEMENT_TYPES.get(key);
+        return type != null ? type : ArenaGame.super.getReplacementType(key);
     }
 
     @Override
@@ -167,23 +212,10 @@ public class DuelGame implements ArenaGame {
 
     @Override
     public void init() {
-        boolean setGenerator = true;
-        if (template.useWorld) {
-            IChunkLoader chunkLoader = template.worldLoader.getLoader(instance, AssetUtil.getWorldFile(template.worldName).toPath());
-            if (chunkLoader != null) {
-                instance.setChunkLoader(chunkLoader);
-                setGenerator = false;
-            }
-        }
-        if (setGenerator) {
-            instance.setGenerator(unit -> {
-                unit.modifier().fillHeight(0, 1, Block.BEDROCK);
-                if (template.maxHeight > 1) {
-                    unit.modifier().fillHeight(1, template.maxHeight, Block.GRASS_BLOCK);
-                }
-            });
+        if (instance instanceof InstanceContainer instanceContainer) {
+            template.setupWorld(instanceContainer);
         }
-        MinecraftServer.getGlobalEventHandler().addChild(entityEventNode);
+        instance.eventNode().addChild(arenaEventNode);
         instance.eventNode()
                 .addListener(AddEntityToInstanceEvent.class, event -> {
                     if (event.getEntity() instanceof Player player) {
@@ -193,6 +225,7 @@ public class DuelGame implements ArenaGame {
                         board.addPlayer(player);
                     }
                 })
+                .addListener(PlayerSpawnEvent.class, event -> invalidate("players", "alive", "owner"))
                 .addListener(PlayerMoveEvent.class, event -> {
                     if (!instance.isInVoid(event.getNewPosition())) return;
                     event.setNewPosition(template.joinPos);
@@ -205,29 +238,75 @@ public class DuelGame implements ArenaGame {
                         ArenaUtil.callLeaveEvent(arena, player);
                         board.removePlayer(player);
                         player.removeTag(deadTag);
+                        MinecraftServer.getSchedulerManager().scheduleNextTick(() -> invalidate("players", "alive", "owner"));
                     }
                 })
                 .addListener(PlayerBlockBreakEvent.class, event -> {
-                    if (Boolean.FALSE.equals(event.getBlock().getTag(playerBlockTag))) {
+                    if (template.sharedWorld || Boolean.FALSE.equals(event.getBlock().getTag(playerBlockTag))) {
                         event.setCancelled(true);
+                    } else {
+                        blockJournal.record(event.getBlockPosition(), event.getBlock());
                     }
                 })
-                .addListener(PlayerBlockPlaceEvent.class, event -> event.setBlock(event.getBlock().withTag(playerBlockTag, true)));
+                .addListener(PlayerBlockPlaceEvent.class, event -> {
+                    if (template.sharedWorld) {
+                        event.setCancelled(true);
+                    } else {
+                        blockJournal.record(event.getBlockPosition(), instance.getBlock(event.getBlockPosition()));
+                        event.setBlock(event.getBlock().withTag(playerBlockTag, true));
+                    }
+                });
         task = instance.scheduler()
                 .buildTask(board::updateAll)
-                .repeat(TaskSchedule.nextTick())
+                .repeat(TaskUtil.tick(template.boardUpdateTime))
                 .executionType(ExecutionType.ASYNC)
                 .schedule();
     }
 
+    @Override
+    public CompletableFuture<Void> preload() {
+        Set<Long> chunkIndexes = new HashSet<>();
+        int borderRadius = (int) Math.ceil(template.borderDiameter / 2);
+        int minChunkX = ChunkUtils.getChunkCoordinate(template.joinPos.blockX() - borderRadius);
+        int maxChunkX = ChunkUtils.getChunkCoordinate(template.joinPos.blockX() + borderRadius);
+        int minChunkZ = ChunkUtils.getChunkCoordinate(template.joinPos.blockZ() - borderRadius);
+        int maxChunkZ = ChunkUtils.getChunkCoordinate(template.joinPos.blockZ() + borderRadius);
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                chunkIndexes.add(ChunkUtils.getChunkIndex(x, z));
+            }
+        }
+        List<Pos> positions = new ArrayList<>(template.posList);
+        positions.add(template.joinPos);
+        for (Pos pos : positions) {
+            int chunkX = pos.chunkX();
+            int chunkZ = pos.chunkZ();
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    chunkIndexes.add(ChunkUtils.getChunkIndex(chunkX + x, chunkZ + z));
+                }
+            }
+        }
+        CompletableFuture<?>[] futures = chunkIndexes.stream()
+                .map(index -> instance.loadChunk(ChunkUtils.getChunkCoordX(index), ChunkUtils.getChunkCoordZ(index)))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
     @Override
     public void postInit() {
-        MinecraftServer.getInstanceManager().registerInstance(instance);
+        if (recycled.getAndSet(false)) {
+            return;
+        }
+        if (instance instanceof SharedInstance sharedInstance) {
+            MinecraftServer.getInstanceManager().registerSharedInstance(sharedInstance);
+        }
     }
 
     @Override
     public void onWaitingStart() {
         timerFeature.setDuration(template.waitingTime, TimeUnit.SECONDS);
+        invalidate("state");
     }
 
     @Override
@@ -250,6 +329,7 @@ public class DuelGame implements ArenaGame {
 
     @Override
     public void onInGameStart() {
+        invalidate("state", "alive");
         List<Player> players = new ArrayList<>(instance.getPlayers());
         for (int i = 0; i < players.size(); i++) {
             Player player = players.get(i);
@@ -290,10 +370,11 @@ public class DuelGame implements ArenaGame {
     @Override
     public void onEndingStart() {
         timerFeature.setDuration(template.endingTime, TimeUnit.SECONDS);
+        invalidate("state", "winner", "alive");
         Player winnerPlayer = winner.get();
         Component message;
         if (winnerPlayer != null) {
-            message = ReplacementManager.replace(template.winnerMessage, getReplacements());
+            message = ReplacementManager.replace(template.winnerMessage, replacements);
         } else {
             message = template.noWinnerMessage;
         }
@@ -310,6 +391,25 @@ public class DuelGame implements ArenaGame {
         return timerFeature.getDuration(TimeUnit.MILLISECONDS) <= 0;
     }
 
+    @Override
+    public boolean recycle() {
+        for (Player player : instance.getPlayers()) {
+            arena.getFeature(LobbyFeature.class).backToLobby(player);
+        }
+        for (Entity entity : instance.getEntities()) {
+            if (!(entity instanceof Player)) {
+                entity.remove();
+            }
+        }
+        blockJournal.rollback(instance);
+        isFinished.set(false);
+        winner.set(null);
+        resetInstance();
+        invalidate("players", "alive", "owner", "state", "winner");
+        recycled.set(true);
+        return true;
+    }
+
     @Override
     public void clear() {
         for (Player player : instance.getPlayers()) {
@@ -318,7 +418,8 @@ public class DuelGame implements ArenaGame {
         if (task != null) {
             task.cancel();
         }
-        MinecraftServer.getGlobalEventHandler().removeChild(entityEventNode);
+        board.clear();
+        instance.eventNode().removeChild(arenaEventNode);
         MinecraftServer.getInstanceManager().unregisterInstance(instance);
     }
 }
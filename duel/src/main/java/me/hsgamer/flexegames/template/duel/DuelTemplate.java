@@ -4,7 +4,14 @@ import me.hsgamer.flexegames.api.chunk.ChunkLoaderType;
 import me.hsgamer.flexegames.api.game.ArenaGame;
 import me.hsgamer.flexegames.api.game.Template;
 import me.hsgamer.flexegames.builder.ItemBuilder;
+import me.hsgamer.flexegames.builder.ItemTemplate;
 import me.hsgamer.flexegames.config.path.*;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
+import me.hsgamer.flexegames.util.AssetUtil;
+import me.hsgamer.flexegames.util.BoundedChunkLoader;
+import me.hsgamer.flexegames.util.FullBrightDimension;
+import me.hsgamer.flexegames.util.PrototypeChunkLoader;
+import me.hsgamer.flexegames.util.WorldSnapshot;
 import me.hsgamer.hscore.config.Config;
 import me.hsgamer.hscore.config.path.ConfigPath;
 import me.hsgamer.hscore.config.path.impl.MapConfigPath;
@@ -12,7 +19,13 @@ import me.hsgamer.hscore.config.path.impl.Paths;
 import me.hsgamer.minigamecore.base.Arena;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 
@@ -20,12 +33,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DuelTemplate implements Template {
+    private static final Map<Integer, IChunkLoader> flatLoaderMap = new ConcurrentHashMap<>();
     private static final ConfigPath<Component> boardTitlePath = new ComponentPath("board.title", DuelMessageConfig.BOARD_TITLE.getValue());
     private static final ConfigPath<List<Component>> boardLinesWaitingPath = new ComponentListPath("board.lines.waiting", DuelMessageConfig.BOARD_LINES_WAITING.getValue());
     private static final ConfigPath<List<Component>> boardLinesIngamePath = new ComponentListPath("board.lines.ingame", DuelMessageConfig.BOARD_LINES_INGAME.getValue());
     private static final ConfigPath<List<Component>> boardLinesEndingPath = new ComponentListPath("board.lines.ending", DuelMessageConfig.BOARD_LINES_ENDING.getValue());
+    private static final ConfigPath<Integer> boardUpdateTimePath = Paths.integerPath("board.update-time", 1);
     private static final ConfigPath<Component> winnerMessagePath = new ComponentPath("winner-message", DuelMessageConfig.WINNER_MESSAGE.getValue());
     private static final ConfigPath<Component> noWinnerMessagePath = new ComponentPath("no-winner-message", DuelMessageConfig.NO_WINNER_MESSAGE.getValue());
     private static final ConfigPath<Component> notEnoughPlayersPath = new ComponentPath("not-enough-players", DuelMessageConfig.NOT_ENOUGH_PLAYERS.getValue());
@@ -63,10 +79,13 @@ public class DuelTemplate implements Template {
     private static final ConfigPath<Boolean> useWorldPath = Paths.booleanPath("use-world", false);
     private static final ConfigPath<ChunkLoaderType> worldLoaderPath = new ChunkLoaderTypePath("world-loader", ChunkLoaderType.ANVIL);
     private static final ConfigPath<String> worldNamePath = Paths.stringPath("world-name", "duel");
+    private static final ConfigPath<Boolean> sharedWorldPath = Paths.booleanPath("shared-world", false);
+    private static final ConfigPath<Integer> warmPoolSizePath = Paths.integerPath("warm-pool-size", 0);
+    private static final ConfigPath<Integer> borderChunkMarginPath = Paths.integerPath("border-chunk-margin", 1);
     final Component displayName;
     final List<Component> description;
-    final Map<String, Object> displayItem;
-    final Map<String, Object> gameDisplayItem;
+    final ItemStack displayItem;
+    final ItemTemplate gameDisplayItem;
     final List<Pos> posList;
     final Pos joinPos;
     final int maxHeight;
@@ -78,19 +97,25 @@ public class DuelTemplate implements Template {
     final boolean useWorld;
     final ChunkLoaderType worldLoader;
     final String worldName;
-    final Component winnerMessage;
+    final WorldSnapshot worldSnapshot;
+    final boolean sharedWorld;
+    final int warmPoolSize;
+    final int borderChunkMargin;
+    final ComponentTemplate winnerMessage;
     final Component noWinnerMessage;
-    final Component boardTitle;
-    final List<Component> boardLinesWaiting;
-    final List<Component> boardLinesIngame;
-    final List<Component> boardLinesEnding;
+    final ComponentTemplate boardTitle;
+    final List<ComponentTemplate> boardLinesWaiting;
+    final List<ComponentTemplate> boardLinesIngame;
+    final List<ComponentTemplate> boardLinesEnding;
+    final int boardUpdateTime;
     final Component notEnoughPlayers;
+    private InstanceContainer sharedContainer;
 
     public DuelTemplate(Config config) {
         displayName = displayNamePath.getValue(config);
         description = descriptionPath.getValue(config);
-        displayItem = displayItemPath.getValue(config);
-        gameDisplayItem = gameDisplayItemPath.getValue(config);
+        displayItem = ItemTemplate.compile(displayItemPath.getValue(config)).build().withDisplayName(displayName).withLore(description);
+        gameDisplayItem = ItemTemplate.compile(gameDisplayItemPath.getValue(config));
         posList = posPath.getValue(config);
         joinPos = joinPosPath.getValue(config);
         maxHeight = maxHeightPath.getValue(config);
@@ -103,15 +128,57 @@ public class DuelTemplate implements Template {
         useWorld = useWorldPath.getValue(config);
         worldLoader = worldLoaderPath.getValue(config);
         worldName = worldNamePath.getValue(config);
-        winnerMessage = winnerMessagePath.getValue(config);
+        worldSnapshot = useWorld
+                ? WorldSnapshot.create(FullBrightDimension.INSTANCE, instance -> worldLoader.getLoader(instance, AssetUtil.getWorldFile(worldName).toPath(), true))
+                : null;
+        sharedWorld = sharedWorldPath.getValue(config);
+        warmPoolSize = warmPoolSizePath.getValue(config);
+        borderChunkMargin = borderChunkMarginPath.getValue(config);
+        winnerMessage = ComponentTemplate.compile(winnerMessagePath.getValue(config));
         noWinnerMessage = noWinnerMessagePath.getValue(config);
-        boardTitle = boardTitlePath.getValue(config);
-        boardLinesWaiting = boardLinesWaitingPath.getValue(config);
-        boardLinesIngame = boardLinesIngamePath.getValue(config);
-        boardLinesEnding = boardLinesEndingPath.getValue(config);
+        boardTitle = ComponentTemplate.compile(boardTitlePath.getValue(config));
+        boardLinesWaiting = ComponentTemplate.compile(boardLinesWaitingPath.getValue(config));
+        boardLinesIngame = ComponentTemplate.compile(boardLinesIngamePath.getValue(config));
+        boardLinesEnding = ComponentTemplate.compile(boardLinesEndingPath.getValue(config));
+        boardUpdateTime = boardUpdateTimePath.getValue(config);
         notEnoughPlayers = notEnoughPlayersPath.getValue(config);
     }
 
+    private static IChunkLoader getFlatLoader(int maxHeight) {
+        return flatLoaderMap.computeIfAbsent(maxHeight, height -> new PrototypeChunkLoader(FullBrightDimension.INSTANCE, chunk -> {
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    chunk.setBlock(x, 0, z, Block.BEDROCK);
+                    for (int y = 1; y < height; y++) {
+                        chunk.setBlock(x, y, z, Block.GRASS_BLOCK);
+                    }
+                }
+            }
+        }));
+    }
+
+    void setupWorld(InstanceContainer instance) {
+        IChunkLoader loader = worldSnapshot != null ? worldSnapshot.createLoader() : getFlatLoader(maxHeight);
+        int borderRadius = (int) Math.ceil(borderDiameter / 2);
+        instance.setChunkLoader(new BoundedChunkLoader(
+                loader,
+                ChunkUtils.getChunkCoordinate(joinPos.blockX() - borderRadius) - borderChunkMargin,
+                ChunkUtils.getChunkCoordinate(joinPos.blockZ() - borderRadius) - borderChunkMargin,
+                ChunkUtils.getChunkCoordinate(joinPos.blockX() + borderRadius) + borderChunkMargin,
+                ChunkUtils.getChunkCoordinate(joinPos.blockZ() + borderRadius) + borderChunkMargin
+        ));
+    }
+
+    synchronized InstanceContainer getSharedContainer() {
+        if (sharedContainer == null) {
+            sharedContainer = MinecraftServer.getInstanceManager().createInstanceContainer(FullBrightDimension.INSTANCE);
+            sharedContainer.setTimeRate(0);
+            sharedContainer.setTime(6000);
+            setupWorld(sharedContainer);
+        }
+        return sharedContainer;
+    }
+
     @Override
     public ArenaGame createGame(Arena arena) {
         return new DuelGame(this, arena);
@@ -127,8 +194,13 @@ public class DuelTemplate implements Template {
         return description;
     }
 
+    @Override
+    public int getWarmPoolSize() {
+        return warmPoolSize;
+    }
+
     @Override
     public ItemStack getDisplayItem() {
-        return ItemBuilder.buildItem(displayItem).withDisplayName(displayName).withLore(description);
+        return displayItem;
     }
 }
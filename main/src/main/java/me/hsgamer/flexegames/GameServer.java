@@ -16,8 +16,11 @@ import me.hsgamer.flexegames.manager.GameArenaManager;
 import me.hsgamer.flexegames.manager.ReplacementManager;
 import me.hsgamer.flexegames.manager.TemplateManager;
 import me.hsgamer.flexegames.player.GamePlayer;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
+import me.hsgamer.flexegames.replacement.ReplacementType;
 import me.hsgamer.flexegames.util.ProxyType;
 import me.hsgamer.flexegames.util.SysOutErrRedirect;
+import me.hsgamer.flexegames.util.TaskUtil;
 import me.hsgamer.hscore.minestom.board.Board;
 import net.kyori.adventure.text.Component;
 import net.minestom.server.MinecraftServer;
@@ -25,6 +28,7 @@ import net.minestom.server.command.CommandManager;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerDisconnectEvent;
 import net.minestom.server.event.player.PlayerLoginEvent;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -67,6 +71,8 @@ public class GameServer {
         commandManager.register(new CreateArenaCommand(this));
         commandManager.register(new JoinArenaCommand(this));
         commandManager.register(new ListPlayerCommand());
+        commandManager.register(new ListArenaCommand(this));
+        commandManager.register(new ConvertWorldCommand());
 
         // GLOBAL EVENT
         EventNode<Event> globalNode = MinecraftServer.getGlobalEventHandler();
@@ -76,7 +82,8 @@ public class GameServer {
                     for (var permission : MainConfig.getPlayerPermissions(player.getUsername())) {
                         player.addPermission(permission);
                     }
-                });
+                })
+                .addListener(PlayerDisconnectEvent.class, event -> ReplacementManager.removePlayerResolver(event.getPlayer()));
 
         // HOOK
         ServerListHook.hook(globalNode);
@@ -96,10 +103,16 @@ public class GameServer {
         }
 
         // Replacement
-        ReplacementManager.addPlayerReplacement("player", Player::getName);
-        ReplacementManager.addPlayerReplacement("ping", player -> Component.text(Integer.toString(player.getLatency())));
-        ReplacementManager.addGlobalReplacement("online", () -> Component.text(Integer.toString(MinecraftServer.getConnectionManager().getOnlinePlayers().size())));
-        MainConfig.CUSTOM_PLACEHOLDERS.getValue().forEach((k, v) -> ReplacementManager.addGlobalReplacement(k, () -> v));
+        TaskUtil.startTickCounter();
+        ReplacementManager.addPlayerReplacement("player", Player::getName, ReplacementType.STATIC);
+        ReplacementManager.addPlayerReplacement("ping", player -> Component.text(Integer.toString(player.getLatency())), ReplacementType.TIME);
+        ReplacementManager.addGlobalReplacement("online", () -> Component.text(Integer.toString(MinecraftServer.getConnectionManager().getOnlinePlayers().size())), ReplacementType.TIME);
+        MainConfig.CUSTOM_PLACEHOLDERS.getValue().forEach((k, v) -> {
+            ComponentTemplate template = ComponentTemplate.compile(v);
+            boolean dynamic = template.getKeys().stream()
+                    .anyMatch(key -> ReplacementManager.getReplacementType(key) != ReplacementType.STATIC);
+            ReplacementManager.addGlobalReplacement(k, template, dynamic ? ReplacementType.TIME : ReplacementType.STATIC);
+        });
     }
 
     @ApiStatus.Internal
@@ -1,15 +1,37 @@
 package me.hsgamer.flexegames.api.chunk;
 
+import me.hsgamer.flexegames.util.CompactChunkLoader;
+import me.hsgamer.flexegames.util.CompactWorld;
+import me.hsgamer.flexegames.util.ReadOnlyChunkLoader;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.AnvilLoader;
 import net.minestom.server.instance.IChunkLoader;
 import net.minestom.server.instance.Instance;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum ChunkLoaderType {
-    ANVIL((instance, path, readOnly) -> new AnvilLoader(path));
+    ANVIL((instance, path, readOnly) -> readOnly ? new ReadOnlyChunkLoader(new AnvilLoader(path)) : new AnvilLoader(path)),
+    COMPACT((instance, path, readOnly) -> {
+        Path file = CompactWorld.getFile(path);
+        if (!Files.isRegularFile(file)) {
+            MinecraftServer.LOGGER.warn("Cannot find the compact world file {}", file);
+            return null;
+        }
+        try {
+            return new CompactChunkLoader(file);
+        } catch (IOException e) {
+            MinecraftServer.LOGGER.error("Cannot load the compact world file " + file, e);
+            return null;
+        }
+    });
 
+    private static final Map<String, IChunkLoader> readOnlyLoaderMap = new ConcurrentHashMap<>();
     private final ChunkLoaderProvider provider;
 
     ChunkLoaderType(ChunkLoaderProvider provider) {
@@ -18,7 +40,20 @@ public enum ChunkLoaderType {
 
     @Nullable
     public IChunkLoader getLoader(Instance instance, Path path, boolean readOnly) {
-        return provider.getLoader(instance, path, readOnly);
+        if (!readOnly) {
+            return provider.getLoader(instance, path, false);
+        }
+        String key = name() + ":" + path.toAbsolutePath().normalize();
+        IChunkLoader loader = readOnlyLoaderMap.get(key);
+        if (loader != null) {
+            return loader;
+        }
+        loader = provider.getLoader(instance, path, true);
+        if (loader == null) {
+            return null;
+        }
+        IChunkLoader existing = readOnlyLoaderMap.putIfAbsent(key, loader);
+        return existing != null ? existing : loader;
     }
 
     @Nullable
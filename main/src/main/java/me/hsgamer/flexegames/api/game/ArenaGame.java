@@ -1,20 +1,43 @@
 package me.hsgamer.flexegames.api.game;
 
+import me.hsgamer.flexegames.manager.ReplacementManager;
+import me.hsgamer.flexegames.replacement.ReplacementType;
 import me.hsgamer.minigamecore.base.Initializer;
+import net.kyori.adventure.text.ComponentLike;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
 import net.minestom.server.item.ItemStack;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public interface ArenaGame extends Initializer {
     Template getTemplate();
 
     ItemStack getDisplayItem();
 
+    default long getVersion() {
+        return 0;
+    }
+
     Collection<Player> getPlayers();
 
+    default Map<String, Supplier<ComponentLike>> getReplacements() {
+        return Collections.emptyMap();
+    }
+
+    default ReplacementType getReplacementType(String key) {
+        return ReplacementManager.getReplacementType(key);
+    }
+
+    default int getLoadedChunkCount() {
+        return 0;
+    }
+
     default boolean isInGame(Player player) {
         return getPlayers().contains(player);
     }
@@ -28,6 +51,14 @@ public interface ArenaGame extends Initializer {
         return getPlayers().size();
     }
 
+    default CompletableFuture<Void> preload() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    default boolean recycle() {
+        return false;
+    }
+
     default JoinResponse join(Player player) {
         return JoinResponse.INCOMPLETE_SETUP;
     }
@@ -17,4 +17,8 @@ public interface Template {
     default ItemStack getDisplayItem() {
         return ItemStack.of(Material.STONE);
     }
+
+    default int getWarmPoolSize() {
+        return 0;
+    }
 }
@@ -0,0 +1,192 @@
+package me.hsgamer.flexegames.arena;
+
+import me.hsgamer.flexegames.api.game.Template;
+import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.minigamecore.base.Arena;
+import me.hsgamer.minigamecore.base.GameState;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class ArenaIndex {
+    private final Set<Arena> arenas = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Arena>> ownerMap = new ConcurrentHashMap<>();
+    private final Map<Template, Set<Arena>> templateMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends GameState>, Set<Arena>> stateMap = new ConcurrentHashMap<>();
+    private final Map<Arena, Class<? extends GameState>> arenaStateMap = new ConcurrentHashMap<>();
+    private final Map<UUID, Arena> playerMap = new ConcurrentHashMap<>();
+    private final Map<Arena, Set<UUID>> arenaPlayerMap = new ConcurrentHashMap<>();
+    private final List<Runnable> indexListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Arena>> arenaListeners = new CopyOnWriteArrayList<>();
+
+    private static <K> void addTo(Map<K, Set<Arena>> map, K key, Arena arena) {
+        map.computeIfAbsent(key, k -> Collections.synchronizedSet(new LinkedHashSet<>())).add(arena);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Arena>> map, K key, Arena arena) {
+        map.computeIfPresent(key, (k, set) -> {
+            set.remove(arena);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static List<Arena> copy(Set<Arena> set) {
+        if (set == null) {
+            return Collections.emptyList();
+        }
+        synchronized (set) {
+            return List.copyOf(set);
+        }
+    }
+
+    public synchronized void add(Arena arena) {
+        if (!arenas.add(arena)) {
+            return;
+        }
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        if (feature.getOwner() != null) {
+            addTo(ownerMap, feature.getOwner(), arena);
+        }
+        if (feature.isReady()) {
+            addTo(templateMap, feature.getGame().getTemplate(), arena);
+        }
+        updateStateUnsafe(arena);
+        notifyIndexChange();
+    }
+
+    public synchronized void remove(Arena arena) {
+        if (!arenas.remove(arena)) {
+            return;
+        }
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        if (feature.getOwner() != null) {
+            removeFrom(ownerMap, feature.getOwner(), arena);
+        }
+        if (feature.isReady()) {
+            removeFrom(templateMap, feature.getGame().getTemplate(), arena);
+        }
+        Class<? extends GameState> state = arenaStateMap.remove(arena);
+        if (state != null) {
+            removeFrom(stateMap, state, arena);
+        }
+        Set<UUID> players = arenaPlayerMap.remove(arena);
+        if (players != null) {
+            players.forEach(uuid -> playerMap.remove(uuid, arena));
+        }
+        notifyIndexChange();
+    }
+
+    public synchronized void updateOwner(Arena arena, UUID oldOwner, UUID newOwner) {
+        if (!arenas.contains(arena) || Objects.equals(oldOwner, newOwner)) {
+            return;
+        }
+        if (oldOwner != null) {
+            removeFrom(ownerMap, oldOwner, arena);
+        }
+        if (newOwner != null) {
+            addTo(ownerMap, newOwner, arena);
+        }
+        notifyIndexChange();
+    }
+
+    public synchronized void updateTemplate(Arena arena, Template oldTemplate, Template newTemplate) {
+        if (!arenas.contains(arena) || oldTemplate == newTemplate) {
+            return;
+        }
+        if (oldTemplate != null) {
+            removeFrom(templateMap, oldTemplate, arena);
+        }
+        if (newTemplate != null) {
+            addTo(templateMap, newTemplate, arena);
+        }
+        notifyIndexChange();
+    }
+
+    public void updateState(Arena arena) {
+        if (arenaStateMap.get(arena) == arena.getState()) {
+            return;
+        }
+        synchronized (this) {
+            if (arenas.contains(arena)) {
+                updateStateUnsafe(arena);
+            }
+        }
+    }
+
+    private void updateStateUnsafe(Arena arena) {
+        Class<? extends GameState> state = arena.getState();
+        Class<? extends GameState> oldState = state == null ? arenaStateMap.remove(arena) : arenaStateMap.put(arena, state);
+        if (oldState == state) {
+            return;
+        }
+        if (oldState != null) {
+            removeFrom(stateMap, oldState, arena);
+        }
+        if (state != null) {
+            addTo(stateMap, state, arena);
+        }
+        notifyIndexChange();
+    }
+
+    public synchronized void addPlayer(Arena arena, UUID uuid) {
+        if (!arenas.contains(arena)) {
+            return;
+        }
+        Arena oldArena = playerMap.put(uuid, arena);
+        if (oldArena != null && oldArena != arena) {
+            Optional.ofNullable(arenaPlayerMap.get(oldArena)).ifPresent(set -> set.remove(uuid));
+        }
+        arenaPlayerMap.computeIfAbsent(arena, a -> ConcurrentHashMap.newKeySet()).add(uuid);
+    }
+
+    public synchronized void removePlayer(Arena arena, UUID uuid) {
+        playerMap.remove(uuid, arena);
+        Optional.ofNullable(arenaPlayerMap.get(arena)).ifPresent(set -> set.remove(uuid));
+    }
+
+    public void addIndexListener(Runnable listener) {
+        indexListeners.add(listener);
+    }
+
+    public void removeIndexListener(Runnable listener) {
+        indexListeners.remove(listener);
+    }
+
+    public void addArenaListener(Consumer<Arena> listener) {
+        arenaListeners.add(listener);
+    }
+
+    public void removeArenaListener(Consumer<Arena> listener) {
+        arenaListeners.remove(listener);
+    }
+
+    private void notifyIndexChange() {
+        indexListeners.forEach(Runnable::run);
+    }
+
+    public void notifyArenaChange(Arena arena) {
+        arenaListeners.forEach(listener -> listener.accept(arena));
+    }
+
+    public List<Arena> getArenasByOwner(UUID owner) {
+        return copy(ownerMap.get(owner));
+    }
+
+    public Set<UUID> getOwners() {
+        return Collections.unmodifiableSet(ownerMap.keySet());
+    }
+
+    public List<Arena> getArenasByTemplate(Template template) {
+        return copy(templateMap.get(template));
+    }
+
+    public List<Arena> getArenasByState(Class<? extends GameState> state) {
+        return copy(stateMap.get(state));
+    }
+
+    public Optional<Arena> getJoinedArena(UUID uuid) {
+        return Optional.ofNullable(playerMap.get(uuid));
+    }
+}
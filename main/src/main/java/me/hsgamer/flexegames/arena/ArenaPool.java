@@ -0,0 +1,101 @@
+package me.hsgamer.flexegames.arena;
+
+import me.hsgamer.flexegames.api.game.Template;
+import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.flexegames.manager.GameArenaManager;
+import me.hsgamer.flexegames.state.ChoosingState;
+import me.hsgamer.minigamecore.base.Arena;
+import net.minestom.server.MinecraftServer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ArenaPool {
+    private final GameArenaManager arenaManager;
+    private final Map<Template, Deque<Arena>> poolMap = new ConcurrentHashMap<>();
+    private final Map<Template, AtomicInteger> pendingMap = new ConcurrentHashMap<>();
+    private volatile boolean running = false;
+
+    public ArenaPool(GameArenaManager arenaManager) {
+        this.arenaManager = arenaManager;
+    }
+
+    public void start(Collection<Template> templates) {
+        running = true;
+        templates.forEach(this::fill);
+    }
+
+    public void stop() {
+        running = false;
+        poolMap.values().forEach(pool -> {
+            Arena arena;
+            while ((arena = pool.poll()) != null) {
+                arena.getArenaFeature(GameFeature.class).getGame().clear();
+            }
+        });
+        poolMap.clear();
+        pendingMap.clear();
+    }
+
+    public Optional<Arena> poll(Template template) {
+        Deque<Arena> pool = poolMap.get(template);
+        if (pool == null) {
+            return Optional.empty();
+        }
+        Arena arena = pool.poll();
+        if (arena != null) {
+            MinecraftServer.getSchedulerManager().scheduleNextTick(() -> fill(template));
+        }
+        return Optional.ofNullable(arena);
+    }
+
+    public boolean canRecycle(Template template) {
+        if (!running) {
+            return false;
+        }
+        int pending = Optional.ofNullable(pendingMap.get(template)).map(AtomicInteger::get).orElse(0);
+        return getSize(template) + pending < template.getWarmPoolSize();
+    }
+
+    public void recycle(Arena arena) {
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        if (!running) {
+            feature.getGame().clear();
+            return;
+        }
+        feature.setOwner(null);
+        arena.setNextState(ChoosingState.class);
+        poolMap.computeIfAbsent(feature.getGame().getTemplate(), t -> new ConcurrentLinkedDeque<>()).add(arena);
+    }
+
+    public int getSize(Template template) {
+        return Optional.ofNullable(poolMap.get(template)).map(Deque::size).orElse(0);
+    }
+
+    private void fill(Template template) {
+        int size = template.getWarmPoolSize();
+        if (!running || size <= 0) {
+            return;
+        }
+        Deque<Arena> pool = poolMap.computeIfAbsent(template, t -> new ConcurrentLinkedDeque<>());
+        AtomicInteger pending = pendingMap.computeIfAbsent(template, t -> new AtomicInteger());
+        while (pool.size() + pending.get() < size) {
+            pending.incrementAndGet();
+            Arena arena = arenaManager.createDetachedArena(template);
+            GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+            feature.prepare().whenComplete((v, throwable) -> {
+                pending.decrementAndGet();
+                if (throwable != null) {
+                    MinecraftServer.getExceptionManager().handleException(throwable);
+                    feature.getGame().clear();
+                } else if (running) {
+                    pool.add(arena);
+                } else {
+                    feature.getGame().clear();
+                }
+            });
+        }
+    }
+}
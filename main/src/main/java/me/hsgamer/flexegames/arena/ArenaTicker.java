@@ -0,0 +1,95 @@
+package me.hsgamer.flexegames.arena;
+
+import me.hsgamer.flexegames.config.MainConfig;
+import me.hsgamer.flexegames.util.TaskUtil;
+import me.hsgamer.minigamecore.base.Arena;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.Task;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ArenaTicker {
+    private final Set<Arena> arenas = ConcurrentHashMap.newKeySet();
+    private ExecutorService workerPool;
+    private int workers = 1;
+    private Task task;
+
+    public void register(Arena arena) {
+        arenas.add(arena);
+    }
+
+    public void unregister(Arena arena) {
+        arenas.remove(arena);
+    }
+
+    public int getArenaCount() {
+        return arenas.size();
+    }
+
+    public void start() {
+        boolean async = Boolean.TRUE.equals(MainConfig.ARENA_ASYNC.getValue());
+        if (async) {
+            int configWorkers = MainConfig.ARENA_WORKERS.getValue();
+            workers = configWorkers > 0 ? configWorkers : Runtime.getRuntime().availableProcessors();
+            AtomicInteger threadCount = new AtomicInteger();
+            workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "Arena-Worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        task = MinecraftServer.getSchedulerManager()
+                .buildTask(this::tick)
+                .repeat(TaskUtil.tick(MainConfig.ARENA_PERIOD.getValue()))
+                .executionType(async ? ExecutionType.ASYNC : ExecutionType.SYNC)
+                .schedule();
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (workerPool != null) {
+            workerPool.shutdown();
+            workerPool = null;
+        }
+        arenas.clear();
+    }
+
+    private void tick() {
+        if (arenas.isEmpty()) {
+            return;
+        }
+        Arena[] snapshot = arenas.toArray(new Arena[0]);
+        ExecutorService pool = workerPool;
+        int shards = Math.min(workers, snapshot.length);
+        if (pool == null || shards <= 1) {
+            runShard(snapshot, 0, snapshot.length);
+            return;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            int start = shard * snapshot.length / shards;
+            int end = (shard + 1) * snapshot.length / shards;
+            futures[shard] = CompletableFuture.runAsync(() -> runShard(snapshot, start, end), pool);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void runShard(Arena[] snapshot, int start, int end) {
+        for (int i = start; i < end; i++) {
+            try {
+                snapshot[i].run();
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+}
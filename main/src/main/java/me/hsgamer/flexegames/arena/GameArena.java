@@ -1,35 +1,35 @@
 package me.hsgamer.flexegames.arena;
 
-import me.hsgamer.flexegames.config.MainConfig;
+import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.flexegames.manager.GameArenaManager;
 import me.hsgamer.flexegames.state.ChoosingState;
-import me.hsgamer.flexegames.util.TaskUtil;
 import me.hsgamer.minigamecore.base.Arena;
-import me.hsgamer.minigamecore.base.ArenaManager;
-import net.minestom.server.MinecraftServer;
-import net.minestom.server.timer.ExecutionType;
-import net.minestom.server.timer.Task;
 
 public class GameArena extends Arena {
-    private Task task;
+    private final GameArenaManager gameArenaManager;
 
-    public GameArena(String name, ArenaManager arenaManager) {
+    public GameArena(String name, GameArenaManager arenaManager) {
         super(name, arenaManager);
+        this.gameArenaManager = arenaManager;
         setNextState(ChoosingState.class);
     }
 
+    @Override
+    public void run() {
+        super.run();
+        gameArenaManager.getArenaIndex().updateState(this);
+        getArenaFeature(GameFeature.class).checkChanges();
+    }
+
     @Override
     public void init() {
-        task = MinecraftServer.getSchedulerManager()
-                .buildTask(this)
-                .repeat(TaskUtil.tick(MainConfig.ARENA_PERIOD.getValue()))
-                .executionType(Boolean.TRUE.equals(MainConfig.ARENA_ASYNC.getValue()) ? ExecutionType.ASYNC : ExecutionType.SYNC)
-                .schedule();
+        gameArenaManager.getArenaIndex().add(this);
+        gameArenaManager.getArenaTicker().register(this);
     }
 
     @Override
     public void clear() {
-        if (task != null) {
-            task.cancel();
-        }
+        gameArenaManager.getArenaTicker().unregister(this);
+        gameArenaManager.getArenaIndex().remove(this);
     }
 }
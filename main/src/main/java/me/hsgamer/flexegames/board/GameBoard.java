@@ -0,0 +1,159 @@
+package me.hsgamer.flexegames.board;
+
+import me.hsgamer.flexegames.manager.ReplacementManager;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
+import me.hsgamer.flexegames.replacement.ReplacementType;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.minestom.server.entity.Player;
+import net.minestom.server.scoreboard.Sidebar;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class GameBoard {
+    private final Function<Player, ComponentTemplate> titleFunction;
+    private final Function<Player, List<ComponentTemplate>> linesFunction;
+    private final Function<Player, Function<String, ? extends ComponentLike>> resolverFunction;
+    private final Function<String, ReplacementType> typeFunction;
+    private final Map<UUID, PlayerBoard> playerBoards = new ConcurrentHashMap<>();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    public GameBoard(Function<Player, ComponentTemplate> titleFunction, Function<Player, List<ComponentTemplate>> linesFunction, Function<Player, Function<String, ? extends ComponentLike>> resolverFunction, Function<String, ReplacementType> typeFunction) {
+        this.titleFunction = titleFunction;
+        this.linesFunction = linesFunction;
+        this.resolverFunction = resolverFunction;
+        this.typeFunction = typeFunction;
+    }
+
+    public GameBoard(Function<Player, ComponentTemplate> titleFunction, Function<Player, List<ComponentTemplate>> linesFunction, Function<Player, Function<String, ? extends ComponentLike>> resolverFunction) {
+        this(titleFunction, linesFunction, resolverFunction, ReplacementManager::getReplacementType);
+    }
+
+    private static String getLineId(int index) {
+        return "line-" + index;
+    }
+
+    public void addPlayer(Player player) {
+        playerBoards.computeIfAbsent(player.getUuid(), uuid -> new PlayerBoard(player)).update(Collections.emptySet());
+    }
+
+    public void invalidate(String... keys) {
+        Collections.addAll(dirtyKeys, keys);
+    }
+
+    private Set<String> drainDirtyKeys() {
+        if (dirtyKeys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> keys = new HashSet<>();
+        Iterator<String> iterator = dirtyKeys.iterator();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+            iterator.remove();
+        }
+        return keys;
+    }
+
+    private boolean shouldRender(ComponentTemplate template, ComponentTemplate previous, Set<String> dirty) {
+        if (template != previous) {
+            return true;
+        }
+        for (String key : template.getKeys()) {
+            if (dirty.contains(key) || typeFunction.apply(key) == ReplacementType.TIME) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void removePlayer(Player player) {
+        PlayerBoard playerBoard = playerBoards.remove(player.getUuid());
+        if (playerBoard != null) {
+            playerBoard.remove();
+        }
+    }
+
+    public void updateAll() {
+        Set<String> dirty = drainDirtyKeys();
+        playerBoards.values().forEach(playerBoard -> playerBoard.update(dirty));
+    }
+
+    public void clear() {
+        playerBoards.values().forEach(PlayerBoard::remove);
+        playerBoards.clear();
+    }
+
+    private final class PlayerBoard {
+        private final Player player;
+        private Sidebar sidebar;
+        private ComponentTemplate titleTemplate;
+        private Component title;
+        private ComponentTemplate[] lineTemplates = new ComponentTemplate[0];
+        private Component[] lines = new Component[0];
+        private boolean removed = false;
+
+        private PlayerBoard(Player player) {
+            this.player = player;
+        }
+
+        private synchronized void update(Set<String> dirty) {
+            if (removed) {
+                return;
+            }
+            Function<String, ? extends ComponentLike> resolver = resolverFunction.apply(player);
+
+            ComponentTemplate newTitleTemplate = titleFunction.apply(player);
+            if (sidebar == null) {
+                title = newTitleTemplate.render(resolver);
+                titleTemplate = newTitleTemplate;
+                sidebar = new Sidebar(title);
+                sidebar.addViewer(player);
+            } else if (shouldRender(newTitleTemplate, titleTemplate, dirty)) {
+                Component newTitle = newTitleTemplate.render(resolver);
+                titleTemplate = newTitleTemplate;
+                if (!newTitle.equals(title)) {
+                    sidebar.setTitle(newTitle);
+                    title = newTitle;
+                }
+            }
+
+            List<ComponentTemplate> newLineTemplates = linesFunction.apply(player);
+            int size = newLineTemplates.size();
+            if (size != lines.length) {
+                for (int i = 0; i < lines.length; i++) {
+                    sidebar.removeLine(getLineId(i));
+                }
+                lineTemplates = new ComponentTemplate[size];
+                lines = new Component[size];
+                for (int i = 0; i < size; i++) {
+                    lineTemplates[i] = newLineTemplates.get(i);
+                    lines[i] = lineTemplates[i].render(resolver);
+                    sidebar.createLine(new Sidebar.ScoreboardLine(getLineId(i), lines[i], size - i));
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                ComponentTemplate lineTemplate = newLineTemplates.get(i);
+                if (!shouldRender(lineTemplate, lineTemplates[i], dirty)) {
+                    continue;
+                }
+                lineTemplates[i] = lineTemplate;
+                Component line = lineTemplate.render(resolver);
+                if (!line.equals(lines[i])) {
+                    sidebar.updateLineContent(getLineId(i), line);
+                    lines[i] = line;
+                }
+            }
+        }
+
+        private synchronized void remove() {
+            removed = true;
+            if (sidebar != null) {
+                sidebar.removeViewer(player);
+                sidebar = null;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package me.hsgamer.flexegames.builder;
 
 import lombok.experimental.ExtensionMethod;
 import me.hsgamer.flexegames.manager.ReplacementManager;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
 import me.hsgamer.hscore.builder.Builder;
 import me.hsgamer.hscore.common.CollectionUtils;
 import me.hsgamer.hscore.common.Validate;
@@ -15,11 +16,10 @@ import net.minestom.server.item.Material;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
-@ExtensionMethod({Objects.class, ReplacementManager.class, CollectionUtils.class})
-public class ItemBuilder extends Builder<Object, BiFunction<ItemStack, Map<String, Supplier<ComponentLike>>, ItemStack>> {
+@ExtensionMethod({Objects.class, CollectionUtils.class})
+public class ItemBuilder extends Builder<Object, ItemModifier> {
     public static final ItemBuilder INSTANCE = new ItemBuilder();
 
     private ItemBuilder() {
@@ -29,17 +29,24 @@ public class ItemBuilder extends Builder<Object, BiFunction<ItemStack, Map<Strin
                                 .orElse(itemStack),
                 "material"
         );
-        register(o -> (itemStack, map) -> {
-            Component name = LegacyComponentSerializer.legacyAmpersand().deserialize(o.toString(""));
-            name = name.replace(map);
-            return itemStack.withDisplayName(name);
+        register(o -> {
+            ComponentTemplate name = ComponentTemplate.compile(LegacyComponentSerializer.legacyAmpersand().deserialize(o.toString("")));
+            if (name.isStatic()) {
+                return (itemStack, map) -> itemStack.withDisplayName(name.getSource());
+            }
+            return ItemModifier.dynamic((itemStack, map) -> itemStack.withDisplayName(ReplacementManager.replace(name, map)));
         }, "display-name", "name");
-        register(o -> (itemStack, map) -> {
-            List<Component> lore = o.createStringListFromObject(false).stream()
-                    .map(s -> LegacyComponentSerializer.legacyAmpersand().deserialize(s))
-                    .map(component -> component.replace(map))
-                    .toList();
-            return itemStack.withLore(lore);
+        register(o -> {
+            List<ComponentTemplate> lore = ComponentTemplate.compile(o.createStringListFromObject(false).stream()
+                    .<Component>map(s -> LegacyComponentSerializer.legacyAmpersand().deserialize(s))
+                    .toList());
+            if (lore.stream().allMatch(ComponentTemplate::isStatic)) {
+                List<Component> staticLore = lore.stream().map(ComponentTemplate::getSource).toList();
+                return (itemStack, map) -> itemStack.withLore(staticLore);
+            }
+            return ItemModifier.dynamic((itemStack, map) -> itemStack.withLore(lore.stream()
+                    .map(template -> ReplacementManager.replace(template, map))
+                    .toList()));
         }, "lore");
         register(o -> (itemStack, map) -> {
             var amount = 1;
@@ -103,14 +110,7 @@ public class ItemBuilder extends Builder<Object, BiFunction<ItemStack, Map<Strin
     }
 
     public static ItemStack buildItem(Map<String, Object> values, Map<String, Supplier<ComponentLike>> replacements) {
-        ItemStack itemStack = ItemStack.of(Material.STONE);
-        for (Map.Entry<String, Object> entry : values.entrySet()) {
-            Optional<BiFunction<ItemStack, Map<String, Supplier<ComponentLike>>, ItemStack>> optional = INSTANCE.build(entry.getKey(), entry.getValue());
-            if (optional.isPresent()) {
-                itemStack = optional.get().apply(itemStack, replacements);
-            }
-        }
-        return itemStack;
+        return ItemTemplate.compile(values).build(replacements);
     }
 
     public static ItemStack buildItem(Map<String, Object> values) {
@@ -0,0 +1,29 @@
+package me.hsgamer.flexegames.builder;
+
+import net.kyori.adventure.text.ComponentLike;
+import net.minestom.server.item.ItemStack;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface ItemModifier {
+    static ItemModifier dynamic(ItemModifier modifier) {
+        return new ItemModifier() {
+            @Override
+            public ItemStack modify(ItemStack itemStack, Map<String, Supplier<ComponentLike>> replacements) {
+                return modifier.modify(itemStack, replacements);
+            }
+
+            @Override
+            public boolean isDynamic() {
+                return true;
+            }
+        };
+    }
+
+    ItemStack modify(ItemStack itemStack, Map<String, Supplier<ComponentLike>> replacements);
+
+    default boolean isDynamic() {
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package me.hsgamer.flexegames.builder;
+
+import me.hsgamer.flexegames.util.ItemUtil;
+import net.kyori.adventure.text.ComponentLike;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+public final class ItemTemplate {
+    private final ItemStack base;
+    private final List<ItemModifier> modifiers;
+    private final boolean stripItalics;
+
+    private ItemTemplate(ItemStack base, List<ItemModifier> modifiers, boolean stripItalics) {
+        this.base = base;
+        this.modifiers = modifiers;
+        this.stripItalics = stripItalics;
+    }
+
+    public static ItemTemplate compile(Map<String, Object> values) {
+        ItemStack base = ItemStack.of(Material.STONE);
+        List<ItemModifier> modifiers = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Optional<ItemModifier> optional = ItemBuilder.INSTANCE.build(entry.getKey(), entry.getValue());
+            if (optional.isEmpty()) {
+                continue;
+            }
+            ItemModifier modifier = optional.get();
+            if (modifier.isDynamic()) {
+                modifiers.add(modifier);
+            } else {
+                base = modifier.modify(base, Collections.emptyMap());
+            }
+        }
+        return new ItemTemplate(base, List.copyOf(modifiers), false);
+    }
+
+    public ItemTemplate stripItalics() {
+        if (stripItalics) {
+            return this;
+        }
+        return new ItemTemplate(ItemUtil.stripItalics(base), modifiers, true);
+    }
+
+    public boolean isStatic() {
+        return modifiers.isEmpty();
+    }
+
+    public ItemStack build(Map<String, Supplier<ComponentLike>> replacements) {
+        if (modifiers.isEmpty()) {
+            return base;
+        }
+        ItemStack itemStack = base;
+        for (ItemModifier modifier : modifiers) {
+            itemStack = modifier.modify(itemStack, replacements);
+        }
+        return stripItalics ? ItemUtil.stripItalics(itemStack) : itemStack;
+    }
+
+    public ItemStack build() {
+        return build(Collections.emptyMap());
+    }
+}
@@ -0,0 +1,38 @@
+package me.hsgamer.flexegames.command;
+
+import me.hsgamer.flexegames.util.AssetUtil;
+import me.hsgamer.flexegames.util.CompactWorld;
+import me.hsgamer.flexegames.util.FullBrightDimension;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.command.ConsoleSender;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.arguments.ArgumentType;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+public class ConvertWorldCommand extends Command {
+    public ConvertWorldCommand() {
+        super("convertworld");
+        setCondition((sender, commandString) -> sender instanceof ConsoleSender);
+        setDefaultExecutor((sender, context) -> sender.sendMessage("Usage: /" + context.getCommandName() + " <world>"));
+
+        var worldArgument = ArgumentType.Word("world");
+        addSyntax((sender, context) -> {
+            String worldName = context.get(worldArgument);
+            Path worldPath = AssetUtil.getWorldFile(worldName).toPath();
+            Path target = CompactWorld.getFile(worldPath);
+            sender.sendMessage("Converting " + worldPath + " to " + target);
+            CompletableFuture.runAsync(() -> {
+                try {
+                    long start = System.currentTimeMillis();
+                    int chunks = CompactWorld.convertAnvil(worldPath, target, FullBrightDimension.INSTANCE);
+                    sender.sendMessage("Converted " + chunks + " chunks in " + (System.currentTimeMillis() - start) + "ms");
+                } catch (Exception e) {
+                    MinecraftServer.LOGGER.error("Failed to convert " + worldPath, e);
+                    sender.sendMessage("Failed to convert " + worldPath + ": " + e.getMessage());
+                }
+            });
+        }, worldArgument);
+    }
+}
@@ -7,6 +7,7 @@ import me.hsgamer.flexegames.command.argument.ArenaArgument;
 import me.hsgamer.flexegames.command.argument.TemplateArgument;
 import me.hsgamer.flexegames.config.MessageConfig;
 import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.flexegames.lobby.ArenaQuery;
 import me.hsgamer.flexegames.manager.ReplacementManager;
 import me.hsgamer.minigamecore.base.Arena;
 import net.kyori.adventure.text.Component;
@@ -72,7 +73,7 @@ public class JoinArenaCommand extends Command {
         var templateNameArgument = new TemplateArgument(gameServer, "templateName");
         addSyntax((sender, context) -> {
             Template template = context.get(templateNameArgument);
-            gameServer.getLobby().openArenaInventory((Player) sender, () -> gameServer.getGameArenaManager().findArenasByTemplate(template));
+            gameServer.getLobby().openArenaInventory((Player) sender, ArenaQuery.template(template));
         }, templateArgument, templateNameArgument);
     }
 }
@@ -0,0 +1,32 @@
+package me.hsgamer.flexegames.command;
+
+import me.hsgamer.flexegames.GameServer;
+import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.flexegames.util.ArenaUtil;
+import me.hsgamer.minigamecore.base.Arena;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.command.ConsoleSender;
+import net.minestom.server.command.builder.Command;
+
+public class ListArenaCommand extends Command {
+    public ListArenaCommand(GameServer gameServer) {
+        super("listarena", "arenas");
+        setCondition((sender, commandString) -> sender instanceof ConsoleSender);
+        setDefaultExecutor((sender, context) -> {
+            int totalChunks = 0;
+            var arenas = gameServer.getGameArenaManager().getAllArenas();
+            for (Arena arena : arenas) {
+                GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+                if (!feature.isReady()) {
+                    continue;
+                }
+                int chunks = feature.getGame().getLoadedChunkCount();
+                totalChunks += chunks;
+                sender.sendMessage(Component.text(arena.getName() + " | ")
+                        .append(ArenaUtil.getDisplayState(arena))
+                        .append(Component.text(" | Players: " + feature.getGame().getPlayerCount() + " | Chunks: " + chunks)));
+            }
+            sender.sendMessage("Arenas: " + arenas.size() + " | Chunks: " + totalChunks);
+        });
+    }
+}
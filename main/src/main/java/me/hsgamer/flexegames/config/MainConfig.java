@@ -46,6 +46,7 @@ public class MainConfig extends YamlPathableConfig {
     public static final ConfigPath<Boolean> SERVER_SHOW_PLAYERS = Paths.booleanPath("server.show-players", true);
     public static final ConfigPath<Integer> ARENA_PERIOD = Paths.integerPath("arena.period", 0);
     public static final ConfigPath<Boolean> ARENA_ASYNC = Paths.booleanPath("arena.async", true);
+    public static final ConfigPath<Integer> ARENA_WORKERS = Paths.integerPath("arena.workers", 0);
     public static final ConfigPath<Integer> ARENA_AMOUNT_PER_PLAYER = Paths.integerPath("arena.amount-per-player", -1);
     public static final ConfigPath<Map<String, Component>> CUSTOM_PLACEHOLDERS = new ComponentMapPath("custom-placeholders", Collections.emptyMap());
     public static final ConfigPath<List<Permission>> CONSOLE_PERMISSIONS = Paths.sticky(new PermissionListPath("console.permissions", Collections.emptyList()));
@@ -5,41 +5,120 @@ import lombok.Setter;
 import me.hsgamer.flexegames.api.game.ArenaGame;
 import me.hsgamer.flexegames.api.game.JoinResponse;
 import me.hsgamer.flexegames.api.game.Template;
+import me.hsgamer.flexegames.arena.ArenaIndex;
+import me.hsgamer.flexegames.manager.GameArenaManager;
 import me.hsgamer.flexegames.util.ArenaUtil;
+import me.hsgamer.flexegames.util.ItemUtil;
 import me.hsgamer.minigamecore.base.Arena;
 import me.hsgamer.minigamecore.base.ArenaFeature;
 import me.hsgamer.minigamecore.base.Feature;
+import me.hsgamer.minigamecore.base.GameState;
 import net.minestom.server.entity.Player;
+import net.minestom.server.item.ItemStack;
 
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GameFeature extends ArenaFeature<GameFeature.ArenaGameFeature> {
+    private final GameArenaManager gameArenaManager;
+
+    public GameFeature(GameArenaManager gameArenaManager) {
+        this.gameArenaManager = gameArenaManager;
+    }
 
     @Override
     protected ArenaGameFeature createFeature(Arena arena) {
-        return new ArenaGameFeature(arena);
+        return new ArenaGameFeature(arena, gameArenaManager.getArenaIndex());
     }
 
     public static class ArenaGameFeature implements Feature {
         private final Arena arena;
+        private final ArenaIndex arenaIndex;
         @Getter
         private ArenaGame game;
         @Getter
-        @Setter
         private UUID owner;
+        private final AtomicLong version = new AtomicLong();
+        private volatile DisplayItem displayItem;
+        private Class<? extends GameState> lastState;
+        private long lastGameVersion;
+        private CompletableFuture<Void> prepareFuture;
+        @Getter
+        @Setter
+        private volatile boolean recycling;
 
-        public ArenaGameFeature(Arena arena) {
+        public ArenaGameFeature(Arena arena, ArenaIndex arenaIndex) {
             this.arena = arena;
+            this.arenaIndex = arenaIndex;
         }
 
         public void setGame(Template template) {
+            Template oldTemplate = game == null ? null : game.getTemplate();
             this.game = template.createGame(arena);
+            synchronized (this) {
+                this.prepareFuture = null;
+            }
+            arenaIndex.updateTemplate(arena, oldTemplate, template);
+            markChanged();
+        }
+
+        public void setOwner(UUID owner) {
+            UUID oldOwner = this.owner;
+            this.owner = owner;
+            arenaIndex.updateOwner(arena, oldOwner, owner);
+            markChanged();
+        }
+
+        public long getVersion() {
+            return version.get();
+        }
+
+        public void markChanged() {
+            version.incrementAndGet();
+            arenaIndex.notifyArenaChange(arena);
+        }
+
+        public void checkChanges() {
+            ArenaGame currentGame = game;
+            long gameVersion = currentGame == null ? 0 : currentGame.getVersion();
+            Class<? extends GameState> state = arena.getState();
+            if (state != lastState || gameVersion != lastGameVersion) {
+                lastState = state;
+                lastGameVersion = gameVersion;
+                markChanged();
+            }
+        }
+
+        public ItemStack getDisplayItem() {
+            ArenaGame currentGame = game;
+            if (currentGame == null) {
+                return ItemStack.AIR;
+            }
+            long currentVersion = version.get();
+            long gameVersion = currentGame.getVersion();
+            DisplayItem cached = displayItem;
+            if (cached != null && cached.game() == currentGame && Objects.equals(cached.owner(), owner) && cached.version() == currentVersion && cached.gameVersion() == gameVersion) {
+                return cached.itemStack();
+            }
+            ItemStack itemStack = ItemUtil.stripItalics(currentGame.getDisplayItem());
+            displayItem = new DisplayItem(currentGame, owner, currentVersion, gameVersion, itemStack);
+            return itemStack;
         }
 
         public boolean isReady() {
             return game != null;
         }
 
+        public synchronized CompletableFuture<Void> prepare() {
+            if (prepareFuture == null) {
+                game.init();
+                prepareFuture = game.preload();
+            }
+            return prepareFuture;
+        }
+
         public JoinResponse joinGame(Player player) {
             if (game == null) {
                 return JoinResponse.INCOMPLETE_SETUP;
@@ -50,5 +129,8 @@ public class GameFeature extends ArenaFeature<GameFeature.ArenaGameFeature> {
             }
             return game.join(player);
         }
+
+        private record DisplayItem(ArenaGame game, UUID owner, long version, long gameVersion, ItemStack itemStack) {
+        }
     }
 }
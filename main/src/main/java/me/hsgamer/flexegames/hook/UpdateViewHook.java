@@ -7,21 +7,35 @@ import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.player.PlayerSpawnEvent;
 import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @UtilityClass
 public final class UpdateViewHook {
+    private static final Set<Player> dirtyPlayers = ConcurrentHashMap.newKeySet();
+
     public static void hook(EventNode<Event> node) {
-        node.addListener(PlayerSpawnEvent.class, event -> {
-            var player = event.getPlayer();
-            var instance = event.getSpawnInstance();
-            for (var instancePlayer : instance.getPlayers()) {
-                if (instancePlayer == player) {
-                    continue;
-                }
-                MinecraftServer.getSchedulerManager().scheduleNextTick(() -> updateView(instancePlayer), ExecutionType.ASYNC);
+        node.addListener(PlayerSpawnEvent.class, event -> dirtyPlayers.add(event.getPlayer()));
+        MinecraftServer.getSchedulerManager()
+                .buildTask(UpdateViewHook::flush)
+                .repeat(TaskSchedule.nextTick())
+                .executionType(ExecutionType.ASYNC)
+                .schedule();
+    }
+
+    private static void flush() {
+        Iterator<Player> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext()) {
+            Player player = iterator.next();
+            iterator.remove();
+            if (player.isRemoved() || player.getInstance() == null) {
+                continue;
             }
-            MinecraftServer.getSchedulerManager().scheduleNextTick(() -> updateView(player), ExecutionType.ASYNC);
-        });
+            updateView(player);
+        }
     }
 
     private static void updateView(Player player) {
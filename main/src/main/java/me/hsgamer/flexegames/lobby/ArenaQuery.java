@@ -0,0 +1,57 @@
+package me.hsgamer.flexegames.lobby;
+
+import me.hsgamer.flexegames.api.game.Template;
+import me.hsgamer.flexegames.manager.GameArenaManager;
+import me.hsgamer.minigamecore.base.Arena;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface ArenaQuery {
+    static ArenaQuery all() {
+        return new All();
+    }
+
+    static ArenaQuery template(Template template) {
+        return new ByTemplate(template);
+    }
+
+    static ArenaQuery owners(List<UUID> owners) {
+        return new ByOwners(List.copyOf(owners));
+    }
+
+    static ArenaQuery custom(Supplier<List<Arena>> supplier) {
+        return new Custom(supplier);
+    }
+
+    List<Arena> find(GameArenaManager arenaManager);
+
+    record All() implements ArenaQuery {
+        @Override
+        public List<Arena> find(GameArenaManager arenaManager) {
+            return List.copyOf(arenaManager.getAllArenas());
+        }
+    }
+
+    record ByTemplate(Template template) implements ArenaQuery {
+        @Override
+        public List<Arena> find(GameArenaManager arenaManager) {
+            return arenaManager.findArenasByTemplate(template);
+        }
+    }
+
+    record ByOwners(List<UUID> owners) implements ArenaQuery {
+        @Override
+        public List<Arena> find(GameArenaManager arenaManager) {
+            return arenaManager.findArenasByOwner(owners);
+        }
+    }
+
+    record Custom(Supplier<List<Arena>> supplier) implements ArenaQuery {
+        @Override
+        public List<Arena> find(GameArenaManager arenaManager) {
+            return List.copyOf(supplier.get());
+        }
+    }
+}
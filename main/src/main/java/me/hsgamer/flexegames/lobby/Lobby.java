@@ -1,18 +1,21 @@
 package me.hsgamer.flexegames.lobby;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import lombok.experimental.ExtensionMethod;
 import me.hsgamer.flexegames.GameServer;
 import me.hsgamer.flexegames.api.game.Template;
 import me.hsgamer.flexegames.api.modifier.InstanceModifier;
+import me.hsgamer.flexegames.board.GameBoard;
 import me.hsgamer.flexegames.builder.InstanceModifierBuilder;
-import me.hsgamer.flexegames.builder.ItemBuilder;
+import me.hsgamer.flexegames.builder.ItemTemplate;
 import me.hsgamer.flexegames.config.LobbyConfig;
 import me.hsgamer.flexegames.config.MessageConfig;
 import me.hsgamer.flexegames.feature.GameFeature;
 import me.hsgamer.flexegames.manager.ReplacementManager;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
 import me.hsgamer.flexegames.util.*;
 import me.hsgamer.hscore.common.Validate;
-import me.hsgamer.hscore.minestom.board.Board;
 import me.hsgamer.hscore.minestom.gui.GUIDisplay;
 import me.hsgamer.hscore.minestom.gui.GUIHolder;
 import me.hsgamer.hscore.minestom.gui.button.Button;
@@ -24,7 +27,6 @@ import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
-import net.minestom.server.event.EventListener;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
 import net.minestom.server.event.inventory.InventoryPreClickEvent;
@@ -38,7 +40,6 @@ import net.minestom.server.item.Material;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.timer.ExecutionType;
 import net.minestom.server.timer.Task;
-import net.minestom.server.timer.TaskSchedule;
 import net.minestom.server.utils.StringUtils;
 
 import java.io.ByteArrayOutputStream;
@@ -47,6 +48,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -54,35 +56,40 @@ import java.util.function.Supplier;
 @ExtensionMethod({ItemUtil.class, PlayerUtil.class})
 public class Lobby extends InstanceContainer {
     private final Pos position;
-    private final Board board;
+    private final GameBoard board;
     private final Task boardTask;
     private final GameServer gameServer;
     private final List<InstanceModifier> instanceModifiers;
     private final Tag<Boolean> hidePlayerTag = Tag.Boolean("lobby:HidePlayer").defaultValue(false);
     private final Tag<Boolean> firstSpawnTag = Tag.Boolean("lobby:FirstSpawn").defaultValue(true);
-    private final Map<UUID, Supplier<List<Arena>>> arenaSupplierRefMap = new ConcurrentHashMap<>();
+    private final Map<UUID, ArenaQuery> arenaQueryMap = new ConcurrentHashMap<>();
+    private final Tag<Integer> hotbarItemTag = Tag.Integer("lobby:HotbarItem");
     private final Map<Integer, ItemStack> lobbyItems = new HashMap<>();
+    private final Int2ObjectMap<Consumer<Player>> hotbarActionMap = new Int2ObjectOpenHashMap<>();
     private GUIHolder arenaGUIHolder;
     private GUIHolder templateGUIHolder;
+    private Runnable arenaIndexListener;
+    private Consumer<Arena> arenaChangeListener;
 
     public Lobby(GameServer gameServer) {
         super(LobbyConfig.UNIQUE_ID.getValue(), FullBrightDimension.INSTANCE);
         this.gameServer = gameServer;
         position = LobbyConfig.POSITION.getValue();
-        board = new Board(
-                player -> ReplacementManager.builder().replaceGlobal().replacePlayer(player).build(LobbyConfig.BOARD_TITLE.getValue()),
-                player -> {
-                    ReplacementManager.Builder builder = ReplacementManager.builder().replaceGlobal().replacePlayer(player);
-                    return LobbyConfig.BOARD_LINES.getValue().stream()
-                            .map(builder::build)
-                            .toList();
-                }
+        ComponentTemplate boardTitle = ComponentTemplate.compile(LobbyConfig.BOARD_TITLE.getValue());
+        List<ComponentTemplate> boardLines = ComponentTemplate.compile(LobbyConfig.BOARD_LINES.getValue());
+        board = new GameBoard(
+                player -> boardTitle,
+                player -> boardLines,
+                player -> ReplacementManager.builder().replaceGlobal().replacePlayer(player)::resolve
         );
         setTimeRate(0);
         setTime(6000);
 
         var worldType = LobbyConfig.WORLD_TYPE.getValue();
-        setChunkLoader(worldType.getLoader(this, AssetUtil.getWorldFile(LobbyConfig.WORLD_NAME.getValue()).toPath()));
+        var chunkLoader = worldType.getLoader(this, AssetUtil.getWorldFile(LobbyConfig.WORLD_NAME.getValue()).toPath(), true);
+        if (chunkLoader != null) {
+            setChunkLoader(chunkLoader);
+        }
 
         EventNode<InstanceEvent> eventNode = eventNode();
         eventNode
@@ -104,6 +111,33 @@ public class Lobby extends InstanceContainer {
                     if (event.getInventory() == null) {
                         event.setCancelled(true);
                     }
+                })
+                .addListener(ItemDropEvent.class, event -> {
+                    if (getHotbarAction(event.getItemStack()) != null) {
+                        event.setCancelled(true);
+                    }
+                })
+                .addListener(PlayerUseItemEvent.class, event -> {
+                    var action = getHotbarAction(event.getPlayer().getInventory().getItemInHand(event.getHand()));
+                    if (action != null) {
+                        event.setCancelled(true);
+                        action.accept(event.getPlayer());
+                    }
+                })
+                .addListener(PlayerBlockInteractEvent.class, event -> {
+                    var action = getHotbarAction(event.getPlayer().getInventory().getItemInHand(event.getHand()));
+                    if (action != null) {
+                        event.setCancelled(true);
+                        event.setBlockingItemUse(true);
+                        action.accept(event.getPlayer());
+                    }
+                })
+                .addListener(PlayerHandAnimationEvent.class, event -> {
+                    var action = getHotbarAction(event.getPlayer().getInventory().getItemInHand(event.getHand()));
+                    if (action != null) {
+                        event.setCancelled(true);
+                        action.accept(event.getPlayer());
+                    }
                 });
         boardTask = scheduler().buildTask(board::updateAll)
                 .repeat(TaskUtil.tick(LobbyConfig.BOARD_UPDATE_TIME.getValue()))
@@ -144,7 +178,7 @@ public class Lobby extends InstanceContainer {
     }
 
     public void registerHotbarItemFromMap(Map<String, Object> map, int defaultSlot, Consumer<Player> consumer) {
-        var item = ItemBuilder.buildItem(map).stripItalics();
+        var item = ItemTemplate.compile(map).stripItalics().build();
         var slot = Optional.ofNullable(map.get("slot")).map(Objects::toString).flatMap(Validate::getNumber).map(BigDecimal::intValue).orElse(defaultSlot);
         boolean enable = Optional.ofNullable(map.get("enable")).map(Objects::toString).map(Boolean::parseBoolean).orElse(true);
         if (enable) {
@@ -153,34 +187,14 @@ public class Lobby extends InstanceContainer {
     }
 
     public void registerHotbarItem(int slot, ItemStack itemStack, Consumer<Player> consumer) {
-        lobbyItems.put(slot, itemStack);
-        eventNode()
-                .addListener(EventListener.builder(ItemDropEvent.class)
-                        .handler(event -> event.setCancelled(true))
-                        .filter(event -> event.getItemStack().equals(itemStack))
-                        .build())
-                .addListener(EventListener.builder(PlayerUseItemEvent.class)
-                        .handler(event -> {
-                            event.setCancelled(true);
-                            consumer.accept(event.getPlayer());
-                        })
-                        .filter(event -> event.getPlayer().getInventory().getItemInHand(event.getHand()).equals(itemStack))
-                        .build())
-                .addListener(EventListener.builder(PlayerBlockInteractEvent.class)
-                        .handler(event -> {
-                            event.setCancelled(true);
-                            event.setBlockingItemUse(true);
-                            consumer.accept(event.getPlayer());
-                        })
-                        .filter(event -> event.getPlayer().getInventory().getItemInHand(event.getHand()).equals(itemStack))
-                        .build())
-                .addListener(EventListener.builder(PlayerHandAnimationEvent.class)
-                        .handler(event -> {
-                            event.setCancelled(true);
-                            consumer.accept(event.getPlayer());
-                        })
-                        .filter(event -> event.getPlayer().getInventory().getItemInHand(event.getHand()).equals(itemStack))
-                        .build());
+        int id = hotbarActionMap.size() + 1;
+        hotbarActionMap.put(id, consumer);
+        lobbyItems.put(slot, itemStack.withTag(hotbarItemTag, id));
+    }
+
+    private Consumer<Player> getHotbarAction(ItemStack itemStack) {
+        Integer id = itemStack.getTag(hotbarItemTag);
+        return id == null ? null : hotbarActionMap.get(id.intValue());
     }
 
     private void updateView(Player player, boolean message) {
@@ -253,10 +267,18 @@ public class Lobby extends InstanceContainer {
         if (templateGUIHolder != null) {
             templateGUIHolder.stop();
         }
+        var arenaIndex = gameServer.getGameArenaManager().getArenaIndex();
+        if (arenaIndexListener != null) {
+            arenaIndex.removeIndexListener(arenaIndexListener);
+        }
+        if (arenaChangeListener != null) {
+            arenaIndex.removeArenaListener(arenaChangeListener);
+        }
         if (arenaGUIHolder != null) {
             arenaGUIHolder.stop();
         }
         boardTask.cancel();
+        board.clear();
         instanceModifiers.forEach(InstanceModifier::clear);
     }
 
@@ -265,6 +287,9 @@ public class Lobby extends InstanceContainer {
     }
 
     private void setupTemplateGUIHolder() {
+        ItemStack templateNextPageItem = ItemTemplate.compile(LobbyConfig.INVENTORY_TEMPLATE_NEXT_PAGE.getValue()).stripItalics().build();
+        ItemStack templatePreviousPageItem = ItemTemplate.compile(LobbyConfig.INVENTORY_TEMPLATE_PREVIOUS_PAGE.getValue()).stripItalics().build();
+        ItemStack templateArenaItem = ItemTemplate.compile(LobbyConfig.INVENTORY_TEMPLATE_ARENA.getValue()).stripItalics().build();
         templateGUIHolder = new GUIHolder();
         Supplier<List<Template>> templates = () -> new ArrayList<>(gameServer.getTemplateManager().getTemplateMap().values());
         IntSupplier maxPage = () -> getMaxPage(templates.get().size());
@@ -272,7 +297,7 @@ public class Lobby extends InstanceContainer {
         Button nextPageButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_TEMPLATE_NEXT_PAGE.getValue()).stripItalics();
+                return templateNextPageItem;
             }
 
             @Override
@@ -293,7 +318,7 @@ public class Lobby extends InstanceContainer {
         Button previousPageButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_TEMPLATE_PREVIOUS_PAGE.getValue()).stripItalics();
+                return templatePreviousPageItem;
             }
 
             @Override
@@ -314,7 +339,7 @@ public class Lobby extends InstanceContainer {
         Button arenaButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_TEMPLATE_ARENA.getValue()).stripItalics();
+                return templateArenaItem;
             }
 
             @Override
@@ -323,7 +348,8 @@ public class Lobby extends InstanceContainer {
                 return false;
             }
         };
-        Button dummyButton = uuid -> ItemStack.of(Material.BLACK_STAINED_GLASS_PANE).withDisplayName(Component.empty());
+        ItemStack dummyItem = ItemStack.of(Material.BLACK_STAINED_GLASS_PANE).withDisplayName(Component.empty());
+        Button dummyButton = uuid -> dummyItem;
         ButtonMap buttonMap = uuid -> {
             var buttons = new HashMap<Button, List<Integer>>();
             var page = uuidPage.getOrDefault(uuid, 0);
@@ -369,17 +395,68 @@ public class Lobby extends InstanceContainer {
         templateGUIHolder.createDisplay(openPlayer.getUuid()).init();
     }
 
-    public void setArenaSupplierRef(UUID uuid, Supplier<List<Arena>> arenaSupplierRef) {
-        arenaSupplierRefMap.put(uuid, arenaSupplierRef);
+    public void setArenaQuery(UUID uuid, ArenaQuery arenaQuery) {
+        arenaQueryMap.put(uuid, arenaQuery);
+    }
+
+    private static boolean isOnPage(List<Arena> arenas, int page, Arena arena) {
+        if (arenas == null) {
+            return false;
+        }
+        int end = Math.min(arenas.size(), (page + 1) * 18);
+        for (int i = page * 18; i < end; i++) {
+            if (arenas.get(i) == arena) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void setupArenaGUIHolder() {
+        ItemStack arenaNextPageItem = ItemTemplate.compile(LobbyConfig.INVENTORY_ARENA_NEXT_PAGE.getValue()).stripItalics().build();
+        ItemStack arenaPreviousPageItem = ItemTemplate.compile(LobbyConfig.INVENTORY_ARENA_PREVIOUS_PAGE.getValue()).stripItalics().build();
+        ItemStack arenaGlobalArenaItem = ItemTemplate.compile(LobbyConfig.INVENTORY_ARENA_GLOBAL_ARENA.getValue()).stripItalics().build();
+        ItemStack arenaMyArenaItem = ItemTemplate.compile(LobbyConfig.INVENTORY_ARENA_MY_ARENA.getValue()).stripItalics().build();
+        ItemStack arenaTemplateItem = ItemTemplate.compile(LobbyConfig.INVENTORY_ARENA_TEMPLATE.getValue()).stripItalics().build();
+        var arenaManager = gameServer.getGameArenaManager();
         var uuidArenas = new ConcurrentHashMap<UUID, List<Arena>>();
         var uuidPage = new ConcurrentHashMap<UUID, Integer>();
+        var uuidDisplay = new ConcurrentHashMap<UUID, GUIDisplay>();
+        var queryCache = new ConcurrentHashMap<ArenaQuery, List<Arena>>();
+        Set<UUID> dirtyDisplays = ConcurrentHashMap.newKeySet();
+        var queryChanged = new AtomicBoolean(false);
+        var flushScheduled = new AtomicBoolean(false);
+        Consumer<UUID> refreshArenas = uuid -> {
+            var query = arenaQueryMap.get(uuid);
+            if (query != null) {
+                uuidArenas.put(uuid, queryCache.computeIfAbsent(query, q -> q.find(arenaManager)));
+            }
+        };
+        Consumer<UUID> forceUpdate = uuid -> {
+            refreshArenas.accept(uuid);
+            Optional.ofNullable(uuidDisplay.get(uuid)).ifPresent(GUIDisplay::update);
+        };
+        Runnable flush = () -> {
+            flushScheduled.set(false);
+            if (queryChanged.getAndSet(false)) {
+                queryCache.clear();
+            }
+            Iterator<UUID> iterator = dirtyDisplays.iterator();
+            while (iterator.hasNext()) {
+                UUID uuid = iterator.next();
+                iterator.remove();
+                forceUpdate.accept(uuid);
+            }
+        };
+        Runnable scheduleFlush = () -> {
+            if (flushScheduled.compareAndSet(false, true)) {
+                MinecraftServer.getSchedulerManager().scheduleNextTick(flush);
+            }
+        };
         Button nextPageButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_ARENA_NEXT_PAGE.getValue()).stripItalics();
+                return arenaNextPageItem;
             }
 
             @Override
@@ -393,14 +470,14 @@ public class Lobby extends InstanceContainer {
                         return oldPage;
                     }
                 });
-                templateGUIHolder.getDisplay(uuid).ifPresent(GUIDisplay::update);
+                forceUpdate.accept(uuid);
                 return false;
             }
         };
         Button previousPageButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_ARENA_PREVIOUS_PAGE.getValue()).stripItalics();
+                return arenaPreviousPageItem;
             }
 
             @Override
@@ -414,40 +491,42 @@ public class Lobby extends InstanceContainer {
                         return oldPage;
                     }
                 });
-                templateGUIHolder.getDisplay(uuid).ifPresent(GUIDisplay::update);
+                forceUpdate.accept(uuid);
                 return false;
             }
         };
         Button globalArenaButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_ARENA_GLOBAL_ARENA.getValue()).stripItalics();
+                return arenaGlobalArenaItem;
             }
 
             @Override
             public boolean handleAction(UUID uuid, InventoryPreClickEvent event) {
                 uuidPage.put(uuid, 0);
-                setArenaSupplierRef(uuid, () -> gameServer.getGameArenaManager().getAllArenas());
+                setArenaQuery(uuid, ArenaQuery.all());
+                forceUpdate.accept(uuid);
                 return false;
             }
         };
         Button myArenaButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_ARENA_MY_ARENA.getValue()).stripItalics();
+                return arenaMyArenaItem;
             }
 
             @Override
             public boolean handleAction(UUID uuid, InventoryPreClickEvent event) {
                 uuidPage.put(uuid, 0);
-                setArenaSupplierRef(uuid, () -> gameServer.getGameArenaManager().findArenasByOwner(uuid1 -> uuid1.equals(uuid)));
+                setArenaQuery(uuid, ArenaQuery.owners(List.of(uuid)));
+                forceUpdate.accept(uuid);
                 return false;
             }
         };
         Button templateButton = new Button() {
             @Override
             public ItemStack getItemStack(UUID uuid) {
-                return ItemBuilder.buildItem(LobbyConfig.INVENTORY_ARENA_TEMPLATE.getValue()).stripItalics();
+                return arenaTemplateItem;
             }
 
             @Override
@@ -456,7 +535,8 @@ public class Lobby extends InstanceContainer {
                 return false;
             }
         };
-        Button dummyButton = uuid -> ItemStack.of(Material.BLACK_STAINED_GLASS_PANE).withDisplayName(Component.empty());
+        ItemStack dummyItem = ItemStack.of(Material.BLACK_STAINED_GLASS_PANE).withDisplayName(Component.empty());
+        Button dummyButton = uuid -> dummyItem;
         ButtonMap buttonMap = uuid -> {
             var buttons = new HashMap<Button, List<Integer>>();
             var arenasList = uuidArenas.getOrDefault(uuid, Collections.emptyList());
@@ -474,7 +554,7 @@ public class Lobby extends InstanceContainer {
                 buttons.put(new Button() {
                     @Override
                     public ItemStack getItemStack(UUID uuid) {
-                        return feature.getGame().getDisplayItem().stripItalics();
+                        return feature.getDisplayItem();
                     }
 
                     @Override
@@ -500,27 +580,43 @@ public class Lobby extends InstanceContainer {
         };
 
 
-        var updateTasks = new ConcurrentHashMap<UUID, Task>();
         arenaGUIHolder = new GUIHolder() {
             @Override
             public GUIDisplay createDisplay(UUID uuid) {
                 GUIDisplay guiDisplay = super.createDisplay(uuid);
-                updateTasks.put(uuid, MinecraftServer.getSchedulerManager().scheduleTask(() -> {
-                    uuidArenas.put(uuid, arenaSupplierRefMap.get(uuid).get());
-                    guiDisplay.update();
-                }, TaskSchedule.nextTick(), TaskSchedule.nextTick()));
+                uuidDisplay.put(uuid, guiDisplay);
+                refreshArenas.accept(uuid);
                 return guiDisplay;
             }
 
             @Override
             public void removeDisplay(UUID uuid) {
                 super.removeDisplay(uuid);
-                var task = updateTasks.get(uuid);
-                if (task != null) {
-                    task.cancel();
+                uuidDisplay.remove(uuid);
+                dirtyDisplays.remove(uuid);
+                uuidArenas.remove(uuid);
+                uuidPage.remove(uuid);
+            }
+        };
+        arenaIndexListener = () -> {
+            queryChanged.set(true);
+            dirtyDisplays.addAll(uuidDisplay.keySet());
+            scheduleFlush.run();
+        };
+        arenaChangeListener = arena -> {
+            boolean dirty = false;
+            for (UUID uuid : uuidDisplay.keySet()) {
+                if (isOnPage(uuidArenas.get(uuid), uuidPage.getOrDefault(uuid, 0), arena)) {
+                    dirtyDisplays.add(uuid);
+                    dirty = true;
                 }
             }
+            if (dirty) {
+                scheduleFlush.run();
+            }
         };
+        arenaManager.getArenaIndex().addIndexListener(arenaIndexListener);
+        arenaManager.getArenaIndex().addArenaListener(arenaChangeListener);
         arenaGUIHolder.setButtonMap(buttonMap);
         arenaGUIHolder.setTitle(LobbyConfig.INVENTORY_ARENA_TITLE.getValue());
         arenaGUIHolder.setInventoryType(InventoryType.CHEST_3_ROW);
@@ -528,25 +624,29 @@ public class Lobby extends InstanceContainer {
         arenaGUIHolder.init();
     }
 
-    public void openArenaInventory(Player openPlayer, Supplier<List<Arena>> arenaSupplier) {
-        arenaSupplierRefMap.put(openPlayer.getUuid(), arenaSupplier);
+    public void openArenaInventory(Player openPlayer, ArenaQuery arenaQuery) {
+        arenaQueryMap.put(openPlayer.getUuid(), arenaQuery);
         arenaGUIHolder.createDisplay(openPlayer.getUuid()).init();
     }
 
+    public void openArenaInventory(Player openPlayer, Supplier<List<Arena>> arenaSupplier) {
+        openArenaInventory(openPlayer, ArenaQuery.custom(arenaSupplier));
+    }
+
     public void openArenaInventory(Player openPlayer, String ownerQuery) {
         List<UUID> uuids = MinecraftServer.getConnectionManager().getOnlinePlayers()
                 .stream()
                 .filter(player -> StringUtils.jaroWinklerScore(player.getUsername().toLowerCase(), ownerQuery.toLowerCase()) > 0)
                 .map(Player::getUuid)
                 .toList();
-        openArenaInventory(openPlayer, () -> gameServer.getGameArenaManager().findArenasByOwner(uuids));
+        openArenaInventory(openPlayer, ArenaQuery.owners(uuids));
     }
 
     public void openArenaInventory(Player openPlayer, boolean myArena) {
         if (myArena) {
-            openArenaInventory(openPlayer, () -> gameServer.getGameArenaManager().findArenasByOwner(openPlayer));
+            openArenaInventory(openPlayer, ArenaQuery.owners(List.of(openPlayer.getUuid())));
         } else {
-            openArenaInventory(openPlayer, () -> gameServer.getGameArenaManager().getAllArenas());
+            openArenaInventory(openPlayer, ArenaQuery.all());
         }
     }
 
@@ -1,9 +1,15 @@
 package me.hsgamer.flexegames.manager;
 
+import lombok.Getter;
 import me.hsgamer.flexegames.GameServer;
 import me.hsgamer.flexegames.api.game.Template;
+import me.hsgamer.flexegames.arena.ArenaIndex;
+import me.hsgamer.flexegames.arena.ArenaPool;
+import me.hsgamer.flexegames.arena.ArenaTicker;
 import me.hsgamer.flexegames.arena.GameArena;
 import me.hsgamer.flexegames.config.MainConfig;
+import me.hsgamer.flexegames.event.ArenaJoinEvent;
+import me.hsgamer.flexegames.event.ArenaLeaveEvent;
 import me.hsgamer.flexegames.feature.GameFeature;
 import me.hsgamer.flexegames.feature.LobbyFeature;
 import me.hsgamer.flexegames.state.*;
@@ -12,18 +18,35 @@ import me.hsgamer.minigamecore.base.ArenaManager;
 import me.hsgamer.minigamecore.base.Feature;
 import me.hsgamer.minigamecore.base.GameState;
 import me.hsgamer.minigamecore.implementation.feature.arena.ArenaTimerFeature;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Predicate;
 
 public class GameArenaManager extends ArenaManager {
     private final GameServer gameServer;
+    @Getter
+    private final ArenaTicker arenaTicker = new ArenaTicker();
+    @Getter
+    private final ArenaIndex arenaIndex = new ArenaIndex();
+    @Getter
+    private final ArenaPool arenaPool = new ArenaPool(this);
+    private final EventNode<Event> eventNode = EventNode.all("arena-index");
 
     public GameArenaManager(GameServer gameServer) {
         this.gameServer = gameServer;
+        eventNode
+                .addListener(ArenaJoinEvent.class, event -> {
+                    arenaIndex.addPlayer(event.arena(), event.getPlayer().getUuid());
+                    event.arena().getArenaFeature(GameFeature.class).markChanged();
+                })
+                .addListener(ArenaLeaveEvent.class, event -> {
+                    arenaIndex.removePlayer(event.arena(), event.getPlayer().getUuid());
+                    event.arena().getArenaFeature(GameFeature.class).markChanged();
+                });
     }
 
     @Override
@@ -33,7 +56,7 @@ public class GameArenaManager extends ArenaManager {
                 new WaitingState(),
                 new InGameState(),
                 new EndingState(),
-                new KillingState()
+                new KillingState(this)
         );
     }
 
@@ -41,48 +64,90 @@ public class GameArenaManager extends ArenaManager {
     protected List<Feature> loadFeatures() {
         return List.of(
                 new ArenaTimerFeature(),
-                new GameFeature(),
+                new GameFeature(this),
                 new LobbyFeature(gameServer)
         );
     }
 
-    public Arena createNewArena() {
+    @Override
+    public void init() {
+        super.init();
+        MinecraftServer.getGlobalEventHandler().addChild(eventNode);
+        arenaTicker.start();
+    }
+
+    @Override
+    public void postInit() {
+        super.postInit();
+        arenaPool.start(gameServer.getTemplateManager().getTemplateMap().values());
+    }
+
+    @Override
+    public void clear() {
+        arenaPool.stop();
+        super.clear();
+        arenaTicker.stop();
+        MinecraftServer.getGlobalEventHandler().removeChild(eventNode);
+    }
+
+    private String generateArenaName() {
         String name;
         do {
             name = "Arena-" + UUID.randomUUID();
         } while (getArenaByName(name).isPresent());
-        Arena arena = new GameArena(name, this);
+        return name;
+    }
+
+    public Arena createNewArena() {
+        Arena arena = new GameArena(generateArenaName(), this);
         addArena(arena);
         return arena;
     }
 
+    public Arena createDetachedArena(Template template) {
+        Arena arena = new GameArena(generateArenaName(), this);
+        arena.getArenaFeature(GameFeature.class).setGame(template);
+        return arena;
+    }
+
     public List<Arena> findArenas(Predicate<Arena> predicate) {
         return getAllArenas().stream().filter(predicate).toList();
     }
 
     public List<Arena> findArenasByOwner(Predicate<UUID> ownerPredicate) {
-        return getAllArenas().stream().filter(arena -> {
-            GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
-            if (!feature.isReady()) {
-                return false;
+        List<Arena> list = new ArrayList<>();
+        for (UUID owner : arenaIndex.getOwners()) {
+            if (ownerPredicate.test(owner)) {
+                list.addAll(findArenasByOwner(owner));
             }
-            return ownerPredicate.test(feature.getOwner());
-        }).toList();
+        }
+        return list;
+    }
+
+    public List<Arena> findArenasByOwner(UUID owner) {
+        return arenaIndex.getArenasByOwner(owner).stream()
+                .filter(arena -> arena.getArenaFeature(GameFeature.class).isReady())
+                .toList();
     }
 
     public List<Arena> findArenasByOwner(Player player) {
-        return findArenasByOwner(uuid -> player.getUuid().equals(uuid));
+        return findArenasByOwner(player.getUuid());
     }
 
     public List<Arena> findArenasByOwner(List<UUID> owners) {
-        return findArenasByOwner(owners::contains);
+        List<Arena> list = new ArrayList<>();
+        for (UUID owner : new LinkedHashSet<>(owners)) {
+            list.addAll(findArenasByOwner(owner));
+        }
+        return list;
     }
 
     public List<Arena> findArenasByTemplate(Template template) {
-        return getAllArenas().stream().filter(arena -> {
-            GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
-            return feature.isReady() && feature.getGame().getTemplate() == template;
-        }).toList();
+        return arenaIndex.getArenasByTemplate(template);
+    }
+
+    public List<Arena> findArenasByState(Class<? extends GameState> state) {
+        return arenaIndex.getArenasByState(state);
     }
 
     public boolean createArena(Player player, Template template) {
@@ -90,17 +155,23 @@ public class GameArenaManager extends ArenaManager {
         if (amount >= 0 && findArenasByOwner(player).size() >= amount) {
             return false;
         }
-        Arena arena = gameServer.getGameArenaManager().createNewArena();
-        arena.getArenaFeature(GameFeature.class).setGame(template);
+        Optional<Arena> pooledArena = arenaPool.poll(template);
+        Arena arena;
+        if (pooledArena.isPresent()) {
+            arena = pooledArena.get();
+            addArena(arena);
+        } else {
+            arena = createNewArena();
+            arena.getArenaFeature(GameFeature.class).setGame(template);
+        }
         arena.getArenaFeature(GameFeature.class).setOwner(player.getUuid());
         return true;
     }
 
-
     public Optional<Arena> getJoinedArena(Player player) {
-        return getAllArenas().parallelStream().filter(arena -> {
+        return arenaIndex.getJoinedArena(player.getUuid()).filter(arena -> {
             GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
             return feature.isReady() && feature.getGame().isInGame(player);
-        }).findFirst();
+        });
     }
 }
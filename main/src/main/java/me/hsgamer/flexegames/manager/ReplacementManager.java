@@ -1,43 +1,82 @@
 package me.hsgamer.flexegames.manager;
 
 import lombok.experimental.UtilityClass;
+import me.hsgamer.flexegames.replacement.ComponentTemplate;
+import me.hsgamer.flexegames.replacement.PlayerResolver;
+import me.hsgamer.flexegames.replacement.ReplacementType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import net.minestom.server.entity.Player;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.function.UnaryOperator;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @UtilityClass
 public final class ReplacementManager {
-    private static final Pattern matchPattern = Pattern.compile("%([^%]+)%");
     private static final Map<String, Supplier<ComponentLike>> globalMap = new HashMap<>();
+    private static final Map<String, ComponentTemplate> globalTemplateMap = new HashMap<>();
     private static final Map<String, Function<Player, ComponentLike>> playerMap = new HashMap<>();
+    private static final Map<UUID, PlayerResolver> playerResolverMap = new ConcurrentHashMap<>();
+    private static final Map<String, ReplacementType> typeMap = new ConcurrentHashMap<>();
 
-    public static void addGlobalReplacement(String key, Supplier<ComponentLike> supplier) {
+    public static void addGlobalReplacement(String key, Supplier<ComponentLike> supplier, ReplacementType type) {
         globalMap.put(key, supplier);
+        typeMap.put(key, type);
     }
 
-    public static void addPlayerReplacement(String key, Function<Player, ComponentLike> function) {
+    public static void addGlobalReplacement(String key, ComponentTemplate template, ReplacementType type) {
+        addGlobalReplacement(key, template::getSource, type);
+        if (template.isStatic()) {
+            globalTemplateMap.remove(key);
+        } else {
+            globalTemplateMap.put(key, template);
+        }
+    }
+
+    public static void addGlobalReplacement(String key, Supplier<ComponentLike> supplier) {
+        addGlobalReplacement(key, supplier, ReplacementType.TIME);
+    }
+
+    public static void addPlayerReplacement(String key, Function<Player, ComponentLike> function, ReplacementType type) {
         playerMap.put(key, function);
+        typeMap.put(key, type);
     }
 
-    public static Component replace(Component component, Map<String, Supplier<ComponentLike>> map) {
-        return component.replaceText(builder -> builder.match(matchPattern).replacement((matchResult, builder1) -> {
-            String key = matchResult.group(1);
+    public static void addPlayerReplacement(String key, Function<Player, ComponentLike> function) {
+        addPlayerReplacement(key, function, ReplacementType.TIME);
+    }
+
+    public static ReplacementType getReplacementType(String key) {
+        return typeMap.getOrDefault(key, ReplacementType.TIME);
+    }
+
+    private static Function<String, ComponentLike> toResolver(Map<String, Supplier<ComponentLike>> map) {
+        return key -> {
             Supplier<ComponentLike> supplier = map.get(key);
-            if (supplier != null) {
-                return supplier.get();
-            }
-            return Component.text("%" + key + "%");
-        }));
+            return supplier != null ? supplier.get() : null;
+        };
+    }
+
+    public static PlayerResolver getPlayerResolver(Player player) {
+        if (!player.isOnline()) {
+            return new PlayerResolver(player, playerMap, ReplacementManager::getReplacementType);
+        }
+        return playerResolverMap.computeIfAbsent(player.getUuid(), uuid -> new PlayerResolver(player, playerMap, ReplacementManager::getReplacementType));
+    }
+
+    public static void removePlayerResolver(Player player) {
+        playerResolverMap.remove(player.getUuid());
+    }
+
+    public static Component replace(ComponentTemplate template, Map<String, Supplier<ComponentLike>> map) {
+        return template.render(toResolver(map));
+    }
+
+    public static Component replace(Component component, Map<String, Supplier<ComponentLike>> map) {
+        return replace(ComponentTemplate.compile(component), map);
     }
 
     public static Component replaceGlobal(Component component) {
@@ -45,7 +84,7 @@ public final class ReplacementManager {
     }
 
     public static Component replacePlayer(Component component, Player player) {
-        return replace(component, playerMap.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> () -> entry.getValue().apply(player))));
+        return ComponentTemplate.compile(component).render(getPlayerResolver(player));
     }
 
     public static Map<String, Supplier<ComponentLike>> toSupplierMap(Map<String, ComponentLike> map) {
@@ -57,32 +96,57 @@ public final class ReplacementManager {
     }
 
     public static final class Builder {
-        private final List<UnaryOperator<Component>> replacements;
+        private final List<Function<String, ComponentLike>> resolvers;
+        private final List<Map<String, ComponentTemplate>> templateMaps;
 
         private Builder() {
-            replacements = new LinkedList<>();
+            resolvers = new ArrayList<>();
+            templateMaps = new ArrayList<>();
         }
 
-        public Builder replacePlayer(Player player) {
-            replacements.add(component -> ReplacementManager.replacePlayer(component, player));
+        private Builder add(Function<String, ComponentLike> resolver, Map<String, ComponentTemplate> templateMap) {
+            resolvers.add(resolver);
+            templateMaps.add(templateMap);
             return this;
         }
 
+        public Builder replacePlayer(Player player) {
+            return add(getPlayerResolver(player), Collections.emptyMap());
+        }
+
         public Builder replaceGlobal() {
-            replacements.add(ReplacementManager::replaceGlobal);
-            return this;
+            return add(toResolver(globalMap), globalTemplateMap);
         }
 
         public Builder replace(Map<String, Supplier<ComponentLike>> map) {
-            replacements.add(component -> ReplacementManager.replace(component, map));
-            return this;
+            return add(toResolver(map), Collections.emptyMap());
         }
 
-        public Component build(Component component) {
-            for (UnaryOperator<Component> replacement : replacements) {
-                component = replacement.apply(component);
+        public ComponentLike resolve(String key) {
+            return resolve(key, 0);
+        }
+
+        private ComponentLike resolve(String key, int start) {
+            for (int i = start; i < resolvers.size(); i++) {
+                ComponentTemplate template = templateMaps.get(i).get(key);
+                if (template != null) {
+                    int next = i + 1;
+                    return template.render(nextKey -> resolve(nextKey, next));
+                }
+                ComponentLike value = resolvers.get(i).apply(key);
+                if (value != null) {
+                    return value;
+                }
             }
-            return component;
+            return null;
+        }
+
+        public Component build(ComponentTemplate template) {
+            return template.render(this::resolve);
+        }
+
+        public Component build(Component component) {
+            return build(ComponentTemplate.compile(component));
         }
     }
 }
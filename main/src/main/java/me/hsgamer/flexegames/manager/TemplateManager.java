@@ -8,10 +8,12 @@ import me.hsgamer.hscore.config.simplixstorage.YamlProvider;
 import net.minestom.server.MinecraftServer;
 
 import java.io.File;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TemplateManager {
     private final File templateFolder;
@@ -25,28 +27,71 @@ public class TemplateManager {
         }
     }
 
+    private static ExecutorService createLoaderPool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Template-Loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     public void prepare() {
-        for (File file : Objects.requireNonNull(templateFolder.listFiles())) {
-            if (file.isDirectory() || !file.getName().endsWith(".yml")) {
-                MinecraftServer.LOGGER.warn("{} is not a valid template file", file.getName());
-                continue;
+        File[] files = Objects.requireNonNull(templateFolder.listFiles());
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        ExecutorService pool = createLoaderPool();
+        try {
+            Map<String, CompletableFuture<Config>> futureMap = new LinkedHashMap<>();
+            for (File file : files) {
+                if (file.isDirectory() || !file.getName().endsWith(".yml")) {
+                    MinecraftServer.LOGGER.warn("{} is not a valid template file", file.getName());
+                    continue;
+                }
+                String name = file.getName().replace(".yml", "");
+                futureMap.put(name, CompletableFuture.supplyAsync(() -> new YamlProvider().loadConfiguration(file), pool));
             }
-            String name = file.getName().replace(".yml", "");
-            Config config = new YamlProvider().loadConfiguration(file);
-            configMap.put(name, config);
+            futureMap.forEach((name, future) -> configMap.put(name, future.join()));
+        } finally {
+            pool.shutdown();
         }
     }
 
     public void init() {
         templateMap.clear();
-        configMap.forEach((name, config) -> {
-            Optional<Template> optional = TemplateBuilder.buildTemplate(config);
-            if (optional.isPresent()) {
-                templateMap.put(name, optional.get());
-            } else {
-                MinecraftServer.LOGGER.warn("ArenaGame {} is not a valid template", name);
+        long startTime = System.currentTimeMillis();
+        List<String> names = new ArrayList<>(configMap.keySet());
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        ExecutorService pool = createLoaderPool();
+        try {
+            Map<String, CompletableFuture<Optional<Template>>> futureMap = new LinkedHashMap<>();
+            for (String name : names) {
+                Config config = configMap.get(name);
+                futureMap.put(name, CompletableFuture.supplyAsync(() -> {
+                    long templateStartTime = System.currentTimeMillis();
+                    Optional<Template> optional = TemplateBuilder.buildTemplate(config);
+                    MinecraftServer.LOGGER.info("Loaded template {} in {}ms", name, System.currentTimeMillis() - templateStartTime);
+                    return optional;
+                }, pool));
             }
-        });
+            futureMap.forEach((name, future) -> {
+                Optional<Template> optional;
+                try {
+                    optional = future.join();
+                } catch (CompletionException e) {
+                    MinecraftServer.LOGGER.warn("There is an exception when loading the template " + name, e.getCause());
+                    optional = Optional.empty();
+                }
+                if (optional.isPresent()) {
+                    templateMap.put(name, optional.get());
+                } else {
+                    MinecraftServer.LOGGER.warn("ArenaGame {} is not a valid template", name);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        MinecraftServer.LOGGER.info("Loaded {} templates in {}ms", templateMap.size(), System.currentTimeMillis() - startTime);
     }
 
     public Optional<Template> getTemplate(String name) {
@@ -0,0 +1,118 @@
+package me.hsgamer.flexegames.replacement;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+
+import java.util.*;
+import java.util.function.Function;
+
+public final class ComponentTemplate {
+    private static final char PLACEHOLDER_CHAR = '%';
+    private final Component source;
+    private final Node root;
+    private final Set<String> keys;
+
+    private ComponentTemplate(Component source, Node root, Set<String> keys) {
+        this.source = source;
+        this.root = root;
+        this.keys = keys;
+    }
+
+    public static ComponentTemplate compile(Component component) {
+        Set<String> keys = new LinkedHashSet<>();
+        Node root = compileNode(component, keys);
+        return new ComponentTemplate(component, root, Collections.unmodifiableSet(keys));
+    }
+
+    public static List<ComponentTemplate> compile(List<Component> components) {
+        return components.stream().map(ComponentTemplate::compile).toList();
+    }
+
+    private static Node compileNode(Component component, Set<String> keys) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        if (component instanceof TextComponent textComponent) {
+            String content = textComponent.content();
+            int start = 0;
+            int index = content.indexOf(PLACEHOLDER_CHAR);
+            while (index >= 0) {
+                int end = content.indexOf(PLACEHOLDER_CHAR, index + 1);
+                if (end < 0) {
+                    break;
+                }
+                if (end == index + 1) {
+                    index = end;
+                    continue;
+                }
+                literals.add(content.substring(start, index));
+                slots.add(content.substring(index + 1, end));
+                start = end + 1;
+                index = content.indexOf(PLACEHOLDER_CHAR, start);
+            }
+            literals.add(content.substring(start));
+        }
+
+        List<Component> children = component.children();
+        Node[] childNodes = new Node[children.size()];
+        boolean dynamicChildren = false;
+        for (int i = 0; i < childNodes.length; i++) {
+            childNodes[i] = compileNode(children.get(i), keys);
+            dynamicChildren |= childNodes[i] != null;
+        }
+
+        if (slots.isEmpty() && !dynamicChildren) {
+            return null;
+        }
+        keys.addAll(slots);
+        Component[] staticChildren = children.toArray(new Component[0]);
+        if (slots.isEmpty()) {
+            return resolver -> component.children(renderChildren(staticChildren, childNodes, resolver));
+        }
+        String[] literalArray = literals.toArray(new String[0]);
+        String[] slotArray = slots.toArray(new String[0]);
+        TextComponent textComponent = (TextComponent) component;
+        return resolver -> {
+            TextComponent.Builder builder = Component.text()
+                    .style(textComponent.style())
+                    .content(literalArray[0]);
+            for (int i = 0; i < slotArray.length; i++) {
+                ComponentLike value = resolver.apply(slotArray[i]);
+                builder.append(value != null ? value : Component.text(PLACEHOLDER_CHAR + slotArray[i] + PLACEHOLDER_CHAR));
+                if (!literalArray[i + 1].isEmpty()) {
+                    builder.append(Component.text(literalArray[i + 1]));
+                }
+            }
+            builder.append(renderChildren(staticChildren, childNodes, resolver));
+            return builder.build();
+        };
+    }
+
+    private static List<Component> renderChildren(Component[] children, Node[] childNodes, Function<String, ? extends ComponentLike> resolver) {
+        List<Component> list = new ArrayList<>(children.length);
+        for (int i = 0; i < children.length; i++) {
+            list.add(childNodes[i] == null ? children[i] : childNodes[i].render(resolver));
+        }
+        return list;
+    }
+
+    public Component getSource() {
+        return source;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public boolean isStatic() {
+        return root == null;
+    }
+
+    public Component render(Function<String, ? extends ComponentLike> resolver) {
+        return root == null ? source : root.render(resolver);
+    }
+
+    private interface Node {
+        Component render(Function<String, ? extends ComponentLike> resolver);
+    }
+}
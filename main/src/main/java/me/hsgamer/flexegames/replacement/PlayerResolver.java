@@ -0,0 +1,60 @@
+package me.hsgamer.flexegames.replacement;
+
+import net.kyori.adventure.text.ComponentLike;
+import me.hsgamer.flexegames.util.TaskUtil;
+import net.minestom.server.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public final class PlayerResolver implements Function<String, ComponentLike> {
+    private final Player player;
+    private final Map<String, Function<Player, ComponentLike>> functionMap;
+    private final Function<String, ReplacementType> typeFunction;
+    private final Map<String, ComponentLike> staticValueMap = new ConcurrentHashMap<>();
+    private final Map<String, Memo> memoMap = new ConcurrentHashMap<>();
+
+    public PlayerResolver(Player player, Map<String, Function<Player, ComponentLike>> functionMap, Function<String, ReplacementType> typeFunction) {
+        this.player = player;
+        this.functionMap = functionMap;
+        this.typeFunction = typeFunction;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public ComponentLike apply(String key) {
+        Function<Player, ComponentLike> function = functionMap.get(key);
+        if (function == null) {
+            return null;
+        }
+        if (typeFunction.apply(key) != ReplacementType.STATIC) {
+            return memoMap.computeIfAbsent(key, k -> new Memo()).get(function);
+        }
+        ComponentLike value = staticValueMap.get(key);
+        if (value == null) {
+            value = function.apply(player);
+            if (value != null) {
+                staticValueMap.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private final class Memo {
+        private long tick = -1;
+        private ComponentLike value;
+
+        private synchronized ComponentLike get(Function<Player, ComponentLike> function) {
+            long currentTick = TaskUtil.getCurrentTick();
+            if (tick != currentTick) {
+                value = function.apply(player);
+                tick = currentTick;
+            }
+            return value;
+        }
+    }
+}
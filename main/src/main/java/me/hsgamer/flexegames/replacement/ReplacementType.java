@@ -0,0 +1,7 @@
+package me.hsgamer.flexegames.replacement;
+
+public enum ReplacementType {
+    STATIC,
+    EVENT,
+    TIME
+}
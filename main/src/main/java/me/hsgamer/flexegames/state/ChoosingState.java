@@ -8,14 +8,15 @@ import me.hsgamer.minigamecore.base.GameState;
 public class ChoosingState implements GameState {
     @Override
     public void update(Arena arena) {
-        if (arena.getArenaFeature(GameFeature.class).isReady()) {
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        if (feature.isReady() && feature.prepare().isDone()) {
             arena.setNextState(WaitingState.class);
         }
     }
 
     @Override
     public void end(Arena arena) {
-        arena.getArenaFeature(GameFeature.class).getGame().init();
+        arena.getArenaFeature(GameFeature.class).prepare();
     }
 
     @Override
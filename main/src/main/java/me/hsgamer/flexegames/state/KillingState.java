@@ -1,19 +1,38 @@
 package me.hsgamer.flexegames.state;
 
+import me.hsgamer.flexegames.api.game.ArenaGame;
 import me.hsgamer.flexegames.config.MessageConfig;
 import me.hsgamer.flexegames.feature.GameFeature;
+import me.hsgamer.flexegames.manager.GameArenaManager;
 import me.hsgamer.minigamecore.base.Arena;
 import me.hsgamer.minigamecore.base.GameState;
 
 public class KillingState implements GameState {
+    private final GameArenaManager gameArenaManager;
+
+    public KillingState(GameArenaManager gameArenaManager) {
+        this.gameArenaManager = gameArenaManager;
+    }
+
     @Override
     public void start(Arena arena) {
-        arena.getArenaFeature(GameFeature.class).getGame().clear();
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        ArenaGame game = feature.getGame();
+        if (gameArenaManager.getArenaPool().canRecycle(game.getTemplate()) && game.recycle()) {
+            feature.setRecycling(true);
+        } else {
+            game.clear();
+        }
     }
 
     @Override
     public void update(Arena arena) {
         arena.removeFromManager();
+        GameFeature.ArenaGameFeature feature = arena.getArenaFeature(GameFeature.class);
+        if (feature.isRecycling()) {
+            feature.setRecycling(false);
+            gameArenaManager.getArenaPool().recycle(arena);
+        }
     }
 
     @Override
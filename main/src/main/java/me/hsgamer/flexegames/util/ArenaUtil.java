@@ -1,6 +1,7 @@
 package me.hsgamer.flexegames.util;
 
 import lombok.experimental.UtilityClass;
+import me.hsgamer.flexegames.event.ArenaJoinEvent;
 import me.hsgamer.flexegames.event.ArenaLeaveEvent;
 import me.hsgamer.flexegames.event.ArenaPreJoinEvent;
 import me.hsgamer.flexegames.feature.GameFeature;
@@ -39,7 +40,7 @@ public final class ArenaUtil {
     }
 
     public static void callJoinEvent(Arena arena, Player player) {
-        EventDispatcher.call(new ArenaLeaveEvent(arena, player));
+        EventDispatcher.call(new ArenaJoinEvent(arena, player));
     }
 
     public static void callLeaveEvent(Arena arena, Player player) {
@@ -0,0 +1,87 @@
+package me.hsgamer.flexegames.util;
+
+import it.unimi.dsi.fastutil.longs.*;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.chunk.ChunkUtils;
+
+public class BlockJournal {
+    private final Long2IntOpenHashMap originalStates = new Long2IntOpenHashMap();
+    private final Long2ObjectOpenHashMap<Block> originalBlockEntities = new Long2ObjectOpenHashMap<>();
+
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (y & 0xFFF);
+    }
+
+    private static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    private static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    private static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    public synchronized void record(int x, int y, int z, Block original) {
+        long position = pack(x, y, z);
+        if (originalStates.containsKey(position)) {
+            return;
+        }
+        originalStates.put(position, original.stateId());
+        if (original.hasNbt() || original.handler() != null) {
+            originalBlockEntities.put(position, original);
+        }
+    }
+
+    public void record(Point point, Block original) {
+        record(point.blockX(), point.blockY(), point.blockZ(), original);
+    }
+
+    public void rollback(Instance instance) {
+        Long2IntOpenHashMap states;
+        Long2ObjectOpenHashMap<Block> blockEntities;
+        synchronized (this) {
+            if (originalStates.isEmpty()) {
+                return;
+            }
+            states = new Long2IntOpenHashMap(originalStates);
+            blockEntities = new Long2ObjectOpenHashMap<>(originalBlockEntities);
+            originalStates.clear();
+            originalBlockEntities.clear();
+        }
+
+        Long2ObjectOpenHashMap<LongArrayList> chunkPositions = new Long2ObjectOpenHashMap<>();
+        for (long position : states.keySet()) {
+            long chunkIndex = ChunkUtils.getChunkIndex(ChunkUtils.getChunkCoordinate(unpackX(position)), ChunkUtils.getChunkCoordinate(unpackZ(position)));
+            chunkPositions.computeIfAbsent(chunkIndex, index -> new LongArrayList()).add(position);
+        }
+
+        for (Long2ObjectMap.Entry<LongArrayList> entry : chunkPositions.long2ObjectEntrySet()) {
+            long chunkIndex = entry.getLongKey();
+            Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordX(chunkIndex), ChunkUtils.getChunkCoordZ(chunkIndex));
+            if (chunk == null) {
+                continue;
+            }
+            LongArrayList positions = entry.getValue();
+            positions.sort((LongComparator) (a, b) -> Integer.compare(unpackY(a), unpackY(b)));
+            synchronized (chunk) {
+                for (int i = 0; i < positions.size(); i++) {
+                    long position = positions.getLong(i);
+                    Block block = blockEntities.get(position);
+                    if (block == null) {
+                        block = Block.fromStateId((short) states.get(position));
+                    }
+                    if (block != null) {
+                        chunk.setBlock(unpackX(position), unpackY(position), unpackZ(position), block);
+                    }
+                }
+            }
+            chunk.sendChunk();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package me.hsgamer.flexegames.util;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public class BoundedChunkLoader implements IChunkLoader {
+    private final IChunkLoader loader;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+
+    public BoundedChunkLoader(IChunkLoader loader, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        this.loader = loader;
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.maxChunkX = maxChunkX;
+        this.maxChunkZ = maxChunkZ;
+    }
+
+    public boolean isInBound(int chunkX, int chunkZ) {
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+
+    @Override
+    public void loadInstance(@NotNull Instance instance) {
+        loader.loadInstance(instance);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        if (!isInBound(chunkX, chunkZ)) {
+            return CompletableFuture.completedFuture(new DynamicChunk(instance, chunkX, chunkZ));
+        }
+        return loader.loadChunk(instance, chunkX, chunkZ);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveInstance(@NotNull Instance instance) {
+        return loader.saveInstance(instance);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        if (!isInBound(chunk.getChunkX(), chunk.getChunkZ())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loader.saveChunk(chunk);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        return loader.saveChunks(chunks.stream().filter(chunk -> isInBound(chunk.getChunkX(), chunk.getChunkZ())).toList());
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return loader.supportsParallelSaving();
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return loader.supportsParallelLoading();
+    }
+
+    @Override
+    public void unloadChunk(Chunk chunk) {
+        loader.unloadChunk(chunk);
+    }
+}
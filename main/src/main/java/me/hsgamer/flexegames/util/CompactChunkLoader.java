@@ -0,0 +1,99 @@
+package me.hsgamer.flexegames.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.InflaterInputStream;
+
+public class CompactChunkLoader implements IChunkLoader {
+    private static final long MAP_THRESHOLD = 32L * 1024 * 1024;
+    private final ByteBuffer buffer;
+    private final Long2LongOpenHashMap chunkEntries = new Long2LongOpenHashMap();
+
+    public CompactChunkLoader(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size > CompactWorld.MAX_FILE_SIZE) {
+            throw new IOException(file + " exceeds the compact format limit of " + CompactWorld.MAX_FILE_SIZE + " bytes");
+        }
+        if (size > MAP_THRESHOLD) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        } else {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+
+        if (buffer.getInt(0) != CompactWorld.MAGIC) {
+            throw new IOException(file + " is not a compact world file");
+        }
+        int version = buffer.getInt(4);
+        if (version != CompactWorld.VERSION) {
+            throw new IOException("Unsupported compact world version " + version + " in " + file);
+        }
+        int chunkCount = buffer.getInt(8);
+        int position = 12;
+        long offset = 12L + 12L * chunkCount;
+        for (int i = 0; i < chunkCount; i++) {
+            int chunkX = buffer.getInt(position);
+            int chunkZ = buffer.getInt(position + 4);
+            int length = buffer.getInt(position + 8);
+            position += 12;
+            chunkEntries.put(ChunkUtils.getChunkIndex(chunkX, chunkZ), offset << 32 | length);
+            offset += length;
+        }
+        chunkEntries.defaultReturnValue(-1);
+    }
+
+    public int getChunkCount() {
+        return chunkEntries.size();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        long entry = chunkEntries.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        if (entry == -1) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int offset = (int) (entry >>> 32);
+        int length = (int) entry;
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            CompactWorld.readChunk(input, chunk);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture(chunk);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+}
@@ -0,0 +1,252 @@
+package me.hsgamer.flexegames.util;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import lombok.experimental.UtilityClass;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.*;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.world.DimensionType;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.jglrxavpok.hephaistos.nbt.NBTException;
+import org.jglrxavpok.hephaistos.parser.SNBTParser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+@UtilityClass
+public final class CompactWorld {
+    public static final int MAGIC = 0x464C4558;
+    public static final int VERSION = 2;
+    public static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+    public static final String EXTENSION = ".flex";
+    private static final int SECTION_VOLUME = Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE;
+    private static final Pattern REGION_PATTERN = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    public static Path getFile(Path worldPath) {
+        return worldPath.resolveSibling(worldPath.getFileName() + EXTENSION);
+    }
+
+    static int getBitsPerEntry(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    static int getIndex(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    public static int convertAnvil(Path anvilPath, Path target, DimensionType dimensionType) throws IOException {
+        InstanceContainer sourceInstance = new InstanceContainer(UUID.randomUUID(), dimensionType);
+        AnvilLoader anvilLoader = new AnvilLoader(anvilPath);
+        List<int[]> positions = new ArrayList<>();
+        List<byte[]> blobs = new ArrayList<>();
+
+        File[] regionFiles = anvilPath.resolve("region").toFile().listFiles();
+        if (regionFiles == null) {
+            throw new FileNotFoundException("There is no region folder in " + anvilPath);
+        }
+        for (File regionFile : regionFiles) {
+            Matcher matcher = REGION_PATTERN.matcher(regionFile.getName());
+            if (!matcher.matches()) {
+                continue;
+            }
+            int regionX = Integer.parseInt(matcher.group(1));
+            int regionZ = Integer.parseInt(matcher.group(2));
+            for (int x = 0; x < 32; x++) {
+                for (int z = 0; z < 32; z++) {
+                    int chunkX = regionX * 32 + x;
+                    int chunkZ = regionZ * 32 + z;
+                    Chunk chunk = anvilLoader.loadChunk(sourceInstance, chunkX, chunkZ).join();
+                    if (chunk == null) {
+                        continue;
+                    }
+                    positions.add(new int[]{chunkX, chunkZ});
+                    blobs.add(writeChunk(chunk));
+                    anvilLoader.unloadChunk(chunk);
+                }
+            }
+        }
+
+        long fileSize = 12L + 12L * blobs.size();
+        for (byte[] blob : blobs) {
+            fileSize += blob.length;
+        }
+        if (fileSize > MAX_FILE_SIZE) {
+            throw new IOException("The converted world would be " + fileSize + " bytes, which exceeds the compact format limit of " + MAX_FILE_SIZE + " bytes");
+        }
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(blobs.size());
+            for (int i = 0; i < blobs.size(); i++) {
+                output.writeInt(positions.get(i)[0]);
+                output.writeInt(positions.get(i)[1]);
+                output.writeInt(blobs.get(i).length);
+            }
+            for (byte[] blob : blobs) {
+                output.write(blob);
+            }
+        }
+        return blobs.size();
+    }
+
+    private static byte[] writeChunk(Chunk chunk) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(byteArrayOutputStream, new Deflater(Deflater.BEST_COMPRESSION)))) {
+            List<Section> sections = chunk.getSections();
+            output.writeInt(chunk.getMinSection());
+            output.writeInt(sections.size());
+            IntArrayList blockEntityPositions = new IntArrayList();
+            IntOpenHashSet blockEntityStates = new IntOpenHashSet();
+            for (int i = 0; i < sections.size(); i++) {
+                int sectionY = chunk.getMinSection() + i;
+                Palette palette = sections.get(i).blockPalette();
+                int[] states = new int[SECTION_VOLUME];
+                Int2IntOpenHashMap paletteMap = new Int2IntOpenHashMap();
+                IntArrayList paletteList = new IntArrayList();
+                for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                    for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
+                        for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
+                            int state = palette.get(x, y, z);
+                            if (!paletteMap.containsKey(state)) {
+                                paletteMap.put(state, paletteList.size());
+                                paletteList.add(state);
+                                Block block = Block.fromStateId((short) state);
+                                if (block != null && block.registry().isBlockEntity()) {
+                                    blockEntityStates.add(state);
+                                }
+                            }
+                            states[getIndex(x, y, z)] = paletteMap.get(state);
+                            if (blockEntityStates.contains(state)) {
+                                blockEntityPositions.add(sectionY * SECTION_VOLUME + getIndex(x, y, z));
+                            }
+                        }
+                    }
+                }
+                output.writeInt(paletteList.size());
+                for (int j = 0; j < paletteList.size(); j++) {
+                    output.writeInt(paletteList.getInt(j));
+                }
+                if (paletteList.size() > 1) {
+                    int bitsPerEntry = getBitsPerEntry(paletteList.size());
+                    int valuesPerLong = 64 / bitsPerEntry;
+                    long[] data = new long[(SECTION_VOLUME + valuesPerLong - 1) / valuesPerLong];
+                    for (int j = 0; j < SECTION_VOLUME; j++) {
+                        data[j / valuesPerLong] |= (long) states[j] << (j % valuesPerLong * bitsPerEntry);
+                    }
+                    for (long value : data) {
+                        output.writeLong(value);
+                    }
+                }
+            }
+
+            List<String> blockEntities = new ArrayList<>();
+            IntArrayList blockEntityIndexes = new IntArrayList();
+            for (int j = 0; j < blockEntityPositions.size(); j++) {
+                int position = blockEntityPositions.getInt(j);
+                int sectionY = Math.floorDiv(position, SECTION_VOLUME);
+                int index = Math.floorMod(position, SECTION_VOLUME);
+                int x = index & 0xF;
+                int y = sectionY * Chunk.CHUNK_SECTION_SIZE + (index >> 8 & 0xF);
+                int z = index >> 4 & 0xF;
+                NBTCompound nbt = chunk.getBlock(x, y, z).nbt();
+                blockEntityIndexes.add(position);
+                blockEntities.add(nbt == null ? "" : nbt.toSNBT());
+            }
+            output.writeInt(blockEntities.size());
+            for (int j = 0; j < blockEntities.size(); j++) {
+                output.writeInt(blockEntityIndexes.getInt(j));
+                byte[] snbtBytes = blockEntities.get(j).getBytes(StandardCharsets.UTF_8);
+                output.writeInt(snbtBytes.length);
+                output.write(snbtBytes);
+            }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    static void readChunk(DataInputStream input, Chunk chunk) throws IOException {
+        int minSection = input.readInt();
+        int sectionCount = input.readInt();
+        List<Section> sections = chunk.getSections();
+        for (int i = 0; i < sectionCount; i++) {
+            int paletteSize = input.readInt();
+            int[] paletteStates = new int[paletteSize];
+            for (int j = 0; j < paletteSize; j++) {
+                paletteStates[j] = input.readInt();
+            }
+            int[] states = null;
+            if (paletteSize > 1) {
+                int bitsPerEntry = getBitsPerEntry(paletteSize);
+                int valuesPerLong = 64 / bitsPerEntry;
+                long mask = (1L << bitsPerEntry) - 1;
+                long[] data = new long[(SECTION_VOLUME + valuesPerLong - 1) / valuesPerLong];
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = input.readLong();
+                }
+                states = new int[SECTION_VOLUME];
+                for (int j = 0; j < SECTION_VOLUME; j++) {
+                    states[j] = paletteStates[(int) (data[j / valuesPerLong] >>> (j % valuesPerLong * bitsPerEntry) & mask)];
+                }
+            }
+
+            int sectionIndex = minSection + i - chunk.getMinSection();
+            if (sectionIndex < 0 || sectionIndex >= sections.size()) {
+                continue;
+            }
+            Palette palette = sections.get(sectionIndex).blockPalette();
+            if (states == null) {
+                if (paletteStates[0] != 0) {
+                    palette.fill(paletteStates[0]);
+                }
+            } else {
+                int[] finalStates = states;
+                palette.setAll((x, y, z) -> finalStates[getIndex(x, y, z)]);
+            }
+        }
+
+        int blockEntityCount = input.readInt();
+        for (int i = 0; i < blockEntityCount; i++) {
+            int position = input.readInt();
+            byte[] snbtBytes = new byte[input.readInt()];
+            input.readFully(snbtBytes);
+            String snbt = new String(snbtBytes, StandardCharsets.UTF_8);
+            int sectionY = Math.floorDiv(position, SECTION_VOLUME);
+            int index = Math.floorMod(position, SECTION_VOLUME);
+            int x = chunk.getChunkX() * Chunk.CHUNK_SIZE_X + (index & 0xF);
+            int y = sectionY * Chunk.CHUNK_SECTION_SIZE + (index >> 8 & 0xF);
+            int z = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + (index >> 4 & 0xF);
+            if (y < chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE || y >= chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE) {
+                continue;
+            }
+            Block block = chunk.getBlock(x, y, z);
+            BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+            if (handler != null) {
+                block = block.withHandler(handler);
+            }
+            if (!snbt.isEmpty()) {
+                try {
+                    NBT nbt = new SNBTParser(new StringReader(snbt)).parse();
+                    if (nbt instanceof NBTCompound compound) {
+                        block = block.withNbt(compound);
+                    }
+                } catch (NBTException e) {
+                    throw new IOException("Invalid block entity data at " + x + ", " + y + ", " + z, e);
+                }
+            }
+            chunk.setBlock(x, y, z, block);
+        }
+    }
+}
@@ -1,27 +1,48 @@
 package me.hsgamer.flexegames.util;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.IChunkLoader;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 
 public class InstanceChunkLoader implements IChunkLoader {
+    private static final int KEEP_STATE = -1;
+    private static final int PER_BLOCK_STATE = -2;
     private final IChunkLoader loader;
     private final BiFunction<Chunk, Block, Block> blockModifier;
+    private final UnaryOperator<Block> paletteModifier;
     private final boolean ignoreAir;
 
     public InstanceChunkLoader(IChunkLoader loader, BiFunction<Chunk, Block, Block> blockModifier, boolean ignoreAir) {
         this.loader = loader;
         this.blockModifier = blockModifier;
+        this.paletteModifier = null;
         this.ignoreAir = ignoreAir;
     }
 
+    public InstanceChunkLoader(IChunkLoader loader, UnaryOperator<Block> paletteModifier, boolean ignoreAir) {
+        this.loader = loader;
+        this.blockModifier = null;
+        this.paletteModifier = paletteModifier;
+        this.ignoreAir = ignoreAir;
+    }
+
+    public InstanceChunkLoader(IChunkLoader loader, UnaryOperator<Block> paletteModifier) {
+        this(loader, paletteModifier, true);
+    }
+
     public InstanceChunkLoader(IChunkLoader loader, BiFunction<Chunk, Block, Block> blockModifier) {
         this(loader, blockModifier, true);
     }
@@ -32,7 +53,23 @@ public class InstanceChunkLoader implements IChunkLoader {
             if (chunk == null) {
                 return null;
             }
-            for (int y = instance.getDimensionType().getMinY(); y < instance.getDimensionType().getMaxY(); y++) {
+            if (paletteModifier != null) {
+                modifyPalettes(chunk);
+            } else {
+                modifyBlocks(chunk);
+            }
+            return chunk;
+        });
+    }
+
+    private void modifyBlocks(Chunk chunk) {
+        List<Section> sections = chunk.getSections();
+        for (int i = 0; i < sections.size(); i++) {
+            if (ignoreAir && sections.get(i).blockPalette().count() == 0) {
+                continue;
+            }
+            int minY = (chunk.getMinSection() + i) * Chunk.CHUNK_SECTION_SIZE;
+            for (int y = minY; y < minY + Chunk.CHUNK_SECTION_SIZE; y++) {
                 for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
                     for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
                         Block block = chunk.getBlock(x, y, z);
@@ -43,8 +80,56 @@ public class InstanceChunkLoader implements IChunkLoader {
                     }
                 }
             }
-            return chunk;
-        });
+        }
+    }
+
+    private void modifyPalettes(Chunk chunk) {
+        Int2IntOpenHashMap stateMap = new Int2IntOpenHashMap();
+        stateMap.defaultReturnValue(Integer.MIN_VALUE);
+        IntArrayList perBlockPositions = new IntArrayList();
+        List<Section> sections = chunk.getSections();
+        for (int i = 0; i < sections.size(); i++) {
+            Palette palette = sections.get(i).blockPalette();
+            if (ignoreAir && palette.count() == 0) {
+                continue;
+            }
+            perBlockPositions.clear();
+            palette.replaceAll((x, y, z, value) -> {
+                int state = stateMap.get(value);
+                if (state == Integer.MIN_VALUE) {
+                    state = modifyState(value);
+                    stateMap.put(value, state);
+                }
+                if (state == PER_BLOCK_STATE) {
+                    perBlockPositions.add(x << 8 | y << 4 | z);
+                    return value;
+                }
+                return state == KEEP_STATE ? value : state;
+            });
+            int minY = (chunk.getMinSection() + i) * Chunk.CHUNK_SECTION_SIZE;
+            for (int j = 0; j < perBlockPositions.size(); j++) {
+                int position = perBlockPositions.getInt(j);
+                int x = position >> 8 & 0xF;
+                int y = minY + (position >> 4 & 0xF);
+                int z = position & 0xF;
+                chunk.setBlock(x, y, z, paletteModifier.apply(chunk.getBlock(x, y, z)));
+            }
+        }
+    }
+
+    private int modifyState(int stateId) {
+        Block block = Block.fromStateId((short) stateId);
+        if (block == null || (ignoreAir && block.isAir())) {
+            return KEEP_STATE;
+        }
+        if (block.registry().isBlockEntity()) {
+            return PER_BLOCK_STATE;
+        }
+        Block modified = paletteModifier.apply(block);
+        if (modified.hasNbt() || modified.handler() != null || modified.registry().isBlockEntity()) {
+            return PER_BLOCK_STATE;
+        }
+        return modified.stateId();
     }
 
     @Override
@@ -0,0 +1,44 @@
+package me.hsgamer.flexegames.util;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public class PrototypeChunkLoader implements IChunkLoader {
+    private final Chunk prototype;
+
+    public PrototypeChunkLoader(DimensionType dimensionType, Consumer<Chunk> chunkConsumer) {
+        InstanceContainer sourceInstance = new InstanceContainer(UUID.randomUUID(), dimensionType);
+        this.prototype = new DynamicChunk(sourceInstance, 0, 0);
+        chunkConsumer.accept(prototype);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        return CompletableFuture.completedFuture(prototype.copy(instance, chunkX, chunkZ));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package me.hsgamer.flexegames.util;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public class ReadOnlyChunkLoader implements IChunkLoader {
+    private final IChunkLoader loader;
+
+    public ReadOnlyChunkLoader(IChunkLoader loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public void loadInstance(@NotNull Instance instance) {
+        loader.loadInstance(instance);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        return loader.loadChunk(instance, chunkX, chunkZ);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveInstance(@NotNull Instance instance) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return loader.supportsParallelLoading();
+    }
+
+    @Override
+    public void unloadChunk(Chunk chunk) {
+        // EMPTY
+    }
+}
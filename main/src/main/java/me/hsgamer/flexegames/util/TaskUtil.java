@@ -1,11 +1,31 @@
 package me.hsgamer.flexegames.util;
 
 import lombok.experimental.UtilityClass;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.timer.TaskSchedule;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 @UtilityClass
 public final class TaskUtil {
+    private static final AtomicLong currentTick = new AtomicLong();
+    private static final AtomicBoolean tickCounterStarted = new AtomicBoolean(false);
+
     public static TaskSchedule tick(int tick) {
         return tick <= 0 ? TaskSchedule.nextTick() : TaskSchedule.tick(tick);
     }
+
+    public static void startTickCounter() {
+        if (tickCounterStarted.compareAndSet(false, true)) {
+            MinecraftServer.getSchedulerManager()
+                    .buildTask(currentTick::incrementAndGet)
+                    .repeat(TaskSchedule.nextTick())
+                    .schedule();
+        }
+    }
+
+    public static long getCurrentTick() {
+        return currentTick.get();
+    }
 }
@@ -0,0 +1,76 @@
+package me.hsgamer.flexegames.util;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class WorldSnapshot {
+    private final InstanceContainer sourceInstance;
+    private final IChunkLoader sourceLoader;
+    private final Map<Long, CompletableFuture<Chunk>> chunks = new ConcurrentHashMap<>();
+
+    private WorldSnapshot(InstanceContainer sourceInstance, IChunkLoader sourceLoader) {
+        this.sourceInstance = sourceInstance;
+        this.sourceLoader = sourceLoader;
+    }
+
+    @Nullable
+    public static WorldSnapshot create(DimensionType dimensionType, Function<Instance, IChunkLoader> loaderFunction) {
+        InstanceContainer sourceInstance = new InstanceContainer(UUID.randomUUID(), dimensionType);
+        IChunkLoader sourceLoader = loaderFunction.apply(sourceInstance);
+        if (sourceLoader == null) {
+            return null;
+        }
+        sourceLoader.loadInstance(sourceInstance);
+        return new WorldSnapshot(sourceInstance, sourceLoader);
+    }
+
+    public CompletableFuture<@Nullable Chunk> getChunk(int chunkX, int chunkZ) {
+        long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        CompletableFuture<Chunk> future = chunks.computeIfAbsent(index, i -> sourceLoader.loadChunk(sourceInstance, chunkX, chunkZ));
+        return future.whenComplete((chunk, throwable) -> {
+            if (throwable != null) {
+                chunks.remove(index, future);
+            }
+        });
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    public IChunkLoader createLoader() {
+        return new IChunkLoader() {
+            @Override
+            public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+                return getChunk(chunkX, chunkZ).thenApply(chunk -> chunk == null ? null : chunk.copy(instance, chunkX, chunkZ));
+            }
+
+            @Override
+            public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public boolean supportsParallelLoading() {
+                return true;
+            }
+
+            @Override
+            public boolean supportsParallelSaving() {
+                return true;
+            }
+        };
+    }
+}